@@ -43,6 +43,8 @@ const MovieDetail: React.FC = () => {
   const { isAuthenticated } = useAuth();
   const [movie, setMovie] = useState<Movie | null>(null);
   const [reviews, setReviews] = useState<ReviewResponse[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMoreReviews, setLoadingMoreReviews] = useState(false);
   const [loading, setLoading] = useState(true);
   const [trailerOpen, setTrailerOpen] = useState(false);
   const [reviewDialogOpen, setReviewDialogOpen] = useState(false);
@@ -78,9 +80,11 @@ const MovieDetail: React.FC = () => {
         // Decode the movie name from URL encoding
         const decodedMovieName = decodeURIComponent(movieName || "");
         const response = await ReviewService.getMovieReviews(decodedMovieName);
-        setReviews(response.data || []);
+        setReviews(response.data?.reviews || []);
+        setNextCursor(response.data?.nextCursor || null);
       } catch (error) {
         setReviews([]);
+        setNextCursor(null);
       }
     };
 
@@ -96,9 +100,29 @@ const MovieDetail: React.FC = () => {
       // Decode the movie name from URL encoding
       const decodedMovieName = decodeURIComponent(movieName);
       const response = await ReviewService.getMovieReviews(decodedMovieName);
-      setReviews(response.data || []);
+      setReviews(response.data?.reviews || []);
+      setNextCursor(response.data?.nextCursor || null);
     } catch (error) {
       setReviews([]);
+      setNextCursor(null);
+    }
+  };
+
+  const loadMoreReviews = async () => {
+    if (!movieName || !nextCursor) return;
+    try {
+      setLoadingMoreReviews(true);
+      const decodedMovieName = decodeURIComponent(movieName);
+      const response = await ReviewService.getMovieReviews(
+        decodedMovieName,
+        nextCursor,
+      );
+      setReviews([...reviews, ...(response.data?.reviews || [])]);
+      setNextCursor(response.data?.nextCursor || null);
+    } catch (error) {
+      alert("Failed to load more reviews. Please try again.");
+    } finally {
+      setLoadingMoreReviews(false);
     }
   };
 
@@ -433,6 +457,17 @@ const MovieDetail: React.FC = () => {
             ))
           )}
         </List>
+        {nextCursor && (
+          <Box sx={{ textAlign: "center", mt: 2 }}>
+            <Button
+              variant="outlined"
+              onClick={loadMoreReviews}
+              disabled={loadingMoreReviews}
+            >
+              {loadingMoreReviews ? "Loading..." : "Load More Reviews"}
+            </Button>
+          </Box>
+        )}
       </Box>
 
       {/* Trailer Dialog */}
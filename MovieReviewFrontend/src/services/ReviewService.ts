@@ -22,6 +22,12 @@ interface ReviewResponse {
   helpful: number;
 }
 
+interface ReviewPage {
+  reviews: ReviewResponse[];
+  nextCursor: string | null;
+  total: number | null;
+}
+
 interface MessageResponse {
   message: string;
 }
@@ -47,11 +53,12 @@ class ReviewService {
     }
   }
 
-  static async getMovieReviews(movieName: string): Promise<AxiosResponse<ReviewResponse[]>> {
+  static async getMovieReviews(movieName: string, cursor?: string): Promise<AxiosResponse<ReviewPage>> {
     try {
-      const response = await axios.get<ReviewResponse[]>(
+      const response = await axios.get<ReviewPage>(
         `${this.API_URL}/movies/${encodeURIComponent(movieName)}/reviews`,
         {
+          params: cursor ? { cursor } : undefined,
           headers: {
             'Content-Type': 'application/json',
             ...AuthService.getAuthHeader(),
@@ -64,11 +71,12 @@ class ReviewService {
     }
   }
 
-  static async getUserReviews(username: string): Promise<AxiosResponse<ReviewResponse[]>> {
+  static async getUserReviews(username: string, cursor?: string): Promise<AxiosResponse<ReviewPage>> {
     try {
-      const response = await axios.get<ReviewResponse[]>(
+      const response = await axios.get<ReviewPage>(
         `${this.API_URL}/users/${encodeURIComponent(username)}/reviews`,
         {
+          params: cursor ? { cursor } : undefined,
           headers: {
             'Content-Type': 'application/json',
             ...AuthService.getAuthHeader(),
@@ -101,5 +109,5 @@ class ReviewService {
 }
 
 export default ReviewService;
-export type { ReviewRequest, ReviewResponse };
+export type { ReviewPage, ReviewRequest, ReviewResponse };
 
@@ -0,0 +1,223 @@
+package com.moviebookingapp.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.moviebookingapp.model.AuditoriumLayout;
+import com.moviebookingapp.model.IdempotencyRecord;
+import com.moviebookingapp.model.Movie;
+import com.moviebookingapp.model.Review;
+import com.moviebookingapp.model.Role;
+import com.moviebookingapp.model.Showtime;
+import com.moviebookingapp.model.Ticket;
+import com.moviebookingapp.model.User;
+
+/**
+ * Single list of the entities whose indexes the repository queries rely on. The
+ * indexes are declared on the model classes; at startup they are created for
+ * every entity listed here, even where spring.data.mongodb.auto-index-creation
+ * is off.
+ *
+ * Each entity is handled on its own, so one failure does not skip the rest.
+ * Entities that failed, for instance because MongoDB was down at startup, are
+ * retried every retry-ms until their indexes exist.
+ *
+ * Once the indexes exist, every query shape the QueryPlanRecorder has seen is
+ * run through explain to check that no query falls back to a collection scan;
+ * queries first seen later are checked every retry-ms.
+ * reelcritic.indexes.verify decides what a collection scan does: "warn" logs
+ * it, "fail" also stops startup when a query run during startup scans, and
+ * "off" skips the check.
+ */
+@Component
+@Order(0)
+public class MongoIndexRegistry implements CommandLineRunner {
+
+    private static final List<Class<?>> ENTITIES = List.of(Movie.class, Ticket.class, Review.class, User.class,
+            Role.class, IdempotencyRecord.class, AuditoriumLayout.class, Showtime.class);
+
+    private static final String IDEMPOTENCY_TTL_INDEX = "createdAt";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${reelcritic.indexes.ensure:true}")
+    private boolean ensureIndexes;
+
+    @Value("${reelcritic.indexes.verify:warn}")
+    private String verifyMode;
+
+    @Value("${reelcritic.idempotency.ttl-minutes:60}")
+    private long idempotencyTtlMinutes;
+
+    @Autowired
+    private QueryPlanRecorder queryPlanRecorder;
+
+    // Entities whose indexes have not been created yet
+    private final Set<Class<?>> pending = new LinkedHashSet<>();
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (ensureIndexes) {
+            synchronized (pending) {
+                pending.addAll(ENTITIES);
+            }
+            ensurePendingIndexes(true);
+        }
+        List<String> collectionScans = verifyQueryPlans();
+        if (!collectionScans.isEmpty() && "fail".equalsIgnoreCase(verifyMode)) {
+            throw new IllegalStateException(collectionScans.size() + " repository queries scan a whole collection");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reelcritic.indexes.retry-ms:30000}",
+            initialDelayString = "${reelcritic.indexes.retry-ms:30000}")
+    void retryPendingIndexes() {
+        ensurePendingIndexes(false);
+        verifyQueryPlans();
+    }
+
+    /**
+     * Explains the queries recorded since the last check and logs those that
+     * scan a whole collection. Skipped while indexes are still missing, since
+     * the plans would not be the ones production runs.
+     */
+    List<String> verifyQueryPlans() {
+        if ("off".equalsIgnoreCase(verifyMode)) {
+            return List.of();
+        }
+        synchronized (pending) {
+            if (!pending.isEmpty()) {
+                return List.of();
+            }
+        }
+        List<QueryPlanRecorder.RecordedQuery> queries = queryPlanRecorder.takeUnverified();
+        if (queries.isEmpty()) {
+            return List.of();
+        }
+        List<String> collectionScans;
+        try {
+            collectionScans = findCollectionScans(queries);
+        } catch (RuntimeException e) {
+            queryPlanRecorder.requeue(queries);
+            System.err.println("⚠️  Warning: Could not check MongoDB query plans.");
+            System.err.println("Error: " + e.getMessage());
+            return List.of();
+        }
+        if (collectionScans.isEmpty()) {
+            System.out.println("🗂️  All " + queries.size() + " new query shapes use an index");
+        }
+        collectionScans.forEach(query -> System.err.println("⚠️  Collection scan: " + query));
+        return collectionScans;
+    }
+
+    /**
+     * Shapes of the recorded queries whose winning plan contains a COLLSCAN
+     * stage.
+     */
+    List<String> findCollectionScans(List<QueryPlanRecorder.RecordedQuery> queries) {
+        String database = mongoTemplate.getDb().getName();
+        List<String> collectionScans = new ArrayList<>();
+        for (QueryPlanRecorder.RecordedQuery query : queries) {
+            if (!database.equals(query.database())) {
+                continue;
+            }
+            Document find = new Document("find", query.collection()).append("filter", query.filter());
+            if (query.sort() != null) {
+                find.append("sort", query.sort());
+            }
+            Document explain = mongoTemplate.getDb()
+                    .runCommand(new Document("explain", find).append("verbosity", "queryPlanner"));
+            Document queryPlanner = explain.get("queryPlanner", Document.class);
+            if (queryPlanner != null && hasCollectionScan(queryPlanner.get("winningPlan"))) {
+                collectionScans.add(query.shape());
+            }
+        }
+        return collectionScans;
+    }
+
+    private boolean hasCollectionScan(Object plan) {
+        if (plan instanceof Document stage) {
+            if ("COLLSCAN".equals(stage.getString("stage"))) {
+                return true;
+            }
+            // Classic plans nest inputStage(s); slot-based plans wrap them in queryPlan
+            return stage.values().stream().anyMatch(this::hasCollectionScan);
+        }
+        if (plan instanceof List<?> stages) {
+            return stages.stream().anyMatch(this::hasCollectionScan);
+        }
+        return false;
+    }
+
+    /**
+     * Creates the indexes of every pending entity. Failures are logged on the
+     * first attempt only, so a long outage does not flood the log.
+     */
+    void ensurePendingIndexes(boolean firstAttempt) {
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+            for (Class<?> entity : List.copyOf(pending)) {
+                try {
+                    IndexOperations indexOps = mongoTemplate.indexOps(entity);
+                    resolver.resolveIndexFor(entity).forEach(indexOps::createIndex);
+                    if (entity == IdempotencyRecord.class) {
+                        ensureIdempotencyTtl();
+                    }
+                    pending.remove(entity);
+                } catch (RuntimeException e) {
+                    if (firstAttempt) {
+                        System.err.println("⚠️  Warning: Could not create MongoDB indexes for "
+                                + mongoTemplate.getCollectionName(entity) + ", retrying in the background.");
+                        System.err.println("Error: " + e.getMessage());
+                    }
+                }
+            }
+            if (pending.isEmpty()) {
+                System.out.println("🗂️  MongoDB indexes are in place for " + ENTITIES.size() + " collections");
+            }
+        }
+    }
+
+    /**
+     * Idempotency records expire after reelcritic.idempotency.ttl-minutes, so
+     * their TTL index is built here from the property instead of being declared
+     * on the model. An index built earlier with another TTL is changed in place.
+     */
+    void ensureIdempotencyTtl() {
+        IndexOperations indexOps = mongoTemplate.indexOps(IdempotencyRecord.class);
+        Duration ttl = Duration.ofMinutes(idempotencyTtlMinutes);
+        Optional<IndexInfo> existing = indexOps.getIndexInfo().stream()
+                .filter(index -> IDEMPOTENCY_TTL_INDEX.equals(index.getName()))
+                .findFirst();
+        if (existing.isEmpty()) {
+            indexOps.createIndex(new Index("createdAt", Direction.ASC).named(IDEMPOTENCY_TTL_INDEX).expire(ttl));
+        } else if (!existing.get().getExpireAfter().equals(Optional.of(ttl))) {
+            mongoTemplate.getDb().runCommand(new Document("collMod",
+                    mongoTemplate.getCollectionName(IdempotencyRecord.class))
+                    .append("index", new Document("name", IDEMPOTENCY_TTL_INDEX)
+                            .append("expireAfterSeconds", ttl.toSeconds())));
+        }
+    }
+}
\ No newline at end of file
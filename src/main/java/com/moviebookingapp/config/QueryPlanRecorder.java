@@ -0,0 +1,182 @@
+package com.moviebookingapp.config;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+
+/**
+ * Records the queries the application sends to MongoDB, so the index registry
+ * can explain the filters the repositories really issue: derived finders,
+ * {@code @Query} methods and the custom fragments alike. One query is kept per
+ * shape, which is the filter and sort with the values left out.
+ *
+ * Queries with an empty filter, and queries tagged with the FULL_READ comment,
+ * read a whole collection on purpose and are not recorded.
+ */
+@Component
+public class QueryPlanRecorder implements CommandListener, MongoClientSettingsBuilderCustomizer {
+
+    // Comment for queries that are meant to read a whole collection
+    public static final String FULL_READ = "full-read";
+
+    private static final int MAX_SHAPES = 1000;
+
+    private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
+
+    @Value("${reelcritic.indexes.verify:warn}")
+    private String verifyMode;
+
+    private final Map<String, Boolean> shapes = new ConcurrentHashMap<>();
+    private final Queue<RecordedQuery> unverified = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void customize(MongoClientSettings.Builder builder) {
+        if (!"off".equalsIgnoreCase(verifyMode)) {
+            builder.addCommandListener(this);
+        }
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        BsonDocument command = event.getCommand();
+        BsonValue comment = command.get("comment");
+        if (comment != null && comment.isString() && FULL_READ.equals(comment.asString().getValue())) {
+            return;
+        }
+        String database = event.getDatabaseName();
+        switch (event.getCommandName()) {
+            case "find" -> record(database, command, "find", command.get("filter"), command.get("sort"));
+            case "count" -> record(database, command, "count", command.get("query"), null);
+            case "distinct" -> record(database, command, "distinct", command.get("query"), null);
+            case "findAndModify" -> record(database, command, "findAndModify", command.get("query"),
+                    command.get("sort"));
+            case "aggregate" -> recordAggregate(database, command);
+            case "update" -> recordEach(database, command, "update", "updates");
+            case "delete" -> recordEach(database, command, "delete", "deletes");
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Queries recorded since the last call, in the order they were first seen.
+     */
+    public List<RecordedQuery> takeUnverified() {
+        List<RecordedQuery> queries = new ArrayList<>();
+        RecordedQuery query;
+        while ((query = unverified.poll()) != null) {
+            queries.add(query);
+        }
+        return queries;
+    }
+
+    /**
+     * Puts back queries that could not be explained, so the next check tries
+     * them again.
+     */
+    public void requeue(Collection<RecordedQuery> queries) {
+        unverified.addAll(queries);
+    }
+
+    private void recordAggregate(String database, BsonDocument command) {
+        BsonValue pipeline = command.get("pipeline");
+        if (!command.isString("aggregate") || pipeline == null || !pipeline.isArray()) {
+            return;
+        }
+        // The leading $match, and a $sort right after it, are what can use an index
+        BsonArray stages = pipeline.asArray();
+        BsonValue filter = null;
+        BsonValue sort = null;
+        if (!stages.isEmpty() && stages.get(0).asDocument().containsKey("$match")) {
+            filter = stages.get(0).asDocument().get("$match");
+            if (stages.size() > 1 && stages.get(1).asDocument().containsKey("$sort")) {
+                sort = stages.get(1).asDocument().get("$sort");
+            }
+        }
+        record(database, command, "aggregate", filter, sort);
+    }
+
+    private void recordEach(String database, BsonDocument command, String commandName, String statements) {
+        BsonValue values = command.get(statements);
+        if (values == null || !values.isArray()) {
+            return;
+        }
+        for (BsonValue statement : values.asArray()) {
+            record(database, command, commandName, statement.asDocument().get("q"), null);
+        }
+    }
+
+    private void record(String database, BsonDocument command, String commandName, BsonValue filter, BsonValue sort) {
+        if (filter == null || !filter.isDocument() || filter.asDocument().isEmpty()) {
+            return;
+        }
+        String collection = command.getString(commandName).getValue();
+        StringBuilder shape = new StringBuilder(database).append('.').append(collection).append(' ');
+        appendShape(shape, filter);
+        if (sort != null && sort.isDocument()) {
+            shape.append(" sort ").append(sort.asDocument().toJson());
+        }
+        String key = shape.toString();
+        if (shapes.size() >= MAX_SHAPES || shapes.putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+        // The command buffer is only valid during this call, so keep copies
+        unverified.add(new RecordedQuery(key, database, collection, toDocument(filter),
+                sort != null && sort.isDocument() ? toDocument(sort) : null));
+    }
+
+    /**
+     * Field names and operators of a filter, with every value replaced by its
+     * type.
+     */
+    private void appendShape(StringBuilder shape, BsonValue value) {
+        if (value.isDocument()) {
+            shape.append('{');
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                shape.append(entry.getKey()).append(':');
+                appendShape(shape, entry.getValue());
+                shape.append(',');
+            }
+            shape.append('}');
+        } else if (value.isArray() && !value.asArray().isEmpty() && value.asArray().get(0).isDocument()) {
+            // An $or over many shows has one shape however many branches it has
+            Set<String> branches = new LinkedHashSet<>();
+            for (BsonValue element : value.asArray()) {
+                StringBuilder branch = new StringBuilder();
+                appendShape(branch, element);
+                branches.add(branch.toString());
+            }
+            shape.append(branches);
+        } else {
+            shape.append(value.getBsonType());
+        }
+    }
+
+    private Document toDocument(BsonValue value) {
+        return DOCUMENT_CODEC.decode(new BsonDocumentReader(value.asDocument()), DecoderContext.builder().build());
+    }
+
+    public record RecordedQuery(String shape, String database, String collection, Document filter, Document sort) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.moviebookingapp.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import com.moviebookingapp.service.MongoCircuitBreaker;
+
+/**
+ * Puts the MongoDB circuit breaker in front of every Spring Data repository,
+ * including the custom fragments, by adding it to each repository proxy before
+ * the proxy is created.
+ */
+@Component
+public class RepositoryCircuitBreakerPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MongoCircuitBreaker> circuitBreaker;
+
+    // Resolved on first use, since post-processors are created before the beans they wrap
+    public RepositoryCircuitBreakerPostProcessor(ObjectProvider<MongoCircuitBreaker> circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            MethodInterceptor interceptor = invocation -> circuitBreaker.getObject().invoke(invocation);
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(interceptor)));
+        }
+        return bean;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.moviebookingapp.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Strong ETags built from version counters, so a conditional GET can be
+ * answered with 304 before anything is read or serialized.
+ */
+final class EntityTags {
+
+    /**
+     * Identifies this process. Catalog snapshot versions restart at 1 on every
+     * boot and are counted separately on every node, so tags built from them must
+     * not be mistaken for the same tag from another process.
+     */
+    private static final String PROCESS_EPOCH = Long.toString(new SecureRandom().nextLong() & Long.MAX_VALUE, 36);
+
+    private EntityTags() {
+    }
+
+    /**
+     * Tag for a response derived from the given version; the request parameters
+     * that change the body are hashed in so every representation gets its own tag.
+     */
+    static String of(String resource, long version, Object... parameters) {
+        String digest = UUID.nameUUIDFromBytes(Arrays.deepToString(parameters).getBytes(StandardCharsets.UTF_8))
+                .toString().replace("-", "");
+        return "\"" + resource + "-" + version + "-" + digest + "\"";
+    }
+
+    /**
+     * Same as {@link #of}, for a version that is only meaningful within this
+     * process, such as the catalog snapshot version.
+     */
+    static String ofLocalVersion(String resource, long version, Object... parameters) {
+        return of(resource + "-" + PROCESS_EPOCH, version, parameters);
+    }
+
+    /**
+     * The tag of the gzip-encoded variant of a response. A strong tag must change
+     * with the content coding.
+     */
+    static String gzipVariant(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    /**
+     * Whether an If-None-Match header lists the tag. If-None-Match uses weak
+     * comparison, so a W/ prefix is ignored.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+    }
+}
@@ -1,12 +1,21 @@
 package com.moviebookingapp.controller;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -17,24 +26,43 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.moviebookingapp.exception.InvalidPageRequestException;
 import com.moviebookingapp.exception.MovieNotFoundException;
-import com.moviebookingapp.exception.SeatAlreadyBookedException;
+import com.moviebookingapp.model.AuditoriumLayout;
 import com.moviebookingapp.model.Movie;
+import com.moviebookingapp.model.Showtime;
 import com.moviebookingapp.model.Ticket;
 import com.moviebookingapp.model.User;
 import com.moviebookingapp.payload.request.LoginRequest;
-import com.moviebookingapp.repository.MovieRepository;
+import com.moviebookingapp.payload.response.BatchBookingResponse;
+import com.moviebookingapp.payload.response.MoviePage;
+import com.moviebookingapp.payload.response.SeatHoldResponse;
+import com.moviebookingapp.repository.ShowtimeRepository;
 import com.moviebookingapp.repository.TicketRepository;
 import com.moviebookingapp.repository.UserRepository;
+import com.moviebookingapp.service.AutocompleteIndex;
+import com.moviebookingapp.service.CatalogFacets;
+import com.moviebookingapp.service.CatalogResponseCache.CachedBody;
+import com.moviebookingapp.service.CatalogResponseCache;
+import com.moviebookingapp.service.CatalogSnapshotService;
+import com.moviebookingapp.service.IdempotencyService;
 import com.moviebookingapp.service.MovieService;
+import com.moviebookingapp.service.MovieTextSearchService;
+import com.moviebookingapp.service.SeatAssignmentService;
+import com.moviebookingapp.service.SeatHold;
+import com.moviebookingapp.service.SeatHoldService;
 
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api/v1.0/moviebooking")
@@ -42,6 +70,9 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 @OpenAPIDefinition(info = @Info(title = "Movie Application API", description = "Provides endpoints for managing movies."))
 public class MovieController {
 
+    // Listings return MovieSummary rows instead of full movies with ?view=summary
+    private static final String SUMMARY_VIEW = "summary";
+
     @Autowired
     private UserRepository userRepository;
 
@@ -55,7 +86,37 @@ public class MovieController {
     private TicketRepository ticketRepository;
 
     @Autowired
-    private MovieRepository movieRepository;
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private SeatAssignmentService seatAssignmentService;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private MovieTextSearchService movieTextSearchService;
+
+    @Value("${reelcritic.catalog.unpaginated-all:true}")
+    private boolean unpaginatedAll;
+
+    @Value("${reelcritic.catalog.max-page-size:100}")
+    private int maxPageSize;
+
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+
+    @Autowired
+    private HttpServletRequest request;
+
+    @Value("${reelcritic.http.catalog-max-age-seconds:30}")
+    private long catalogMaxAge;
 
     @PutMapping("/{username}/forgot")
     @SecurityRequirement(name = "Bearer Authentication")
@@ -80,48 +141,223 @@ public class MovieController {
     @GetMapping("/all")
     @SecurityRequirement(name = "Bearer Authentication")
     @Operation(summary = "search all movies")
-    public ResponseEntity<List<Movie>> getAllMovies() {
-        List<Movie> allMovies = movieService.getAllMovies();
-        if (allMovies.isEmpty()) {
-            throw new MovieNotFoundException("No Movies Available!");
-        }
-        return new ResponseEntity<>(allMovies, HttpStatus.OK);
+    public ResponseEntity<?> getAllMovies(@RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "order", required = false) String order,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "view", required = false) String view) {
+        boolean summary = SUMMARY_VIEW.equalsIgnoreCase(view);
+        return cachedCatalogGet("all", Arrays.asList(sort, order, cursor, size, summary), () -> {
+            if (unpaginatedAll && sort == null && order == null && cursor == null && size == null) {
+                List<?> allMovies = summary ? movieService.getAllMovieSummaries() : movieService.getAllMovies();
+                if (allMovies.isEmpty()) {
+                    throw new MovieNotFoundException("No Movies Available!");
+                }
+                return allMovies;
+            }
+            MoviePage<?> page = summary ? movieService.getMovieSummaryPage(sort, order, cursor, size)
+                    : movieService.getMoviePage(sort, order, cursor, size);
+            if (page.getMovies().isEmpty() && cursor == null) {
+                throw new MovieNotFoundException("No Movies Available!");
+            }
+            return page;
+        });
     }
 
     @GetMapping("/movies/search/{movieName}")
     @SecurityRequirement(name = "Bearer Authentication")
     @Operation(summary = "Search Movies By Name")
-    public ResponseEntity<List<Movie>> getMovieByName(@PathVariable("movieName") String movieName) {
-        List<Movie> allMovies = movieService.getMovieByName(movieName);
-        if (allMovies.isEmpty()) {
-            throw new MovieNotFoundException("Movie not found: " + movieName);
+    public ResponseEntity<?> getMovieByName(@PathVariable("movieName") String movieName,
+            @RequestParam(value = "view", required = false) String view) {
+        boolean summary = SUMMARY_VIEW.equalsIgnoreCase(view);
+        return cachedCatalogGet("search", Arrays.asList(movieName, summary), () -> {
+            List<?> allMovies = summary ? movieService.getMovieSummariesByName(movieName)
+                    : movieService.getMovieByName(movieName);
+            if (allMovies.isEmpty()) {
+                throw new MovieNotFoundException("Movie not found: " + movieName);
+            }
+            return allMovies;
+        });
+    }
+
+    @GetMapping("/movies/search")
+    @Operation(summary = "Search movies by name, description, cast, director, genre and language")
+    public ResponseEntity<?> searchMovies(@RequestParam("q") String query,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            throw new InvalidPageRequestException("Page must be 0 or more and size between 1 and " + maxPageSize);
+        }
+        movieTextSearchService.validatePage(page, size);
+        return cachedCatalogGet("fulltext", Arrays.asList(query, page, size),
+                () -> movieTextSearchService.search(query, page, size));
+    }
+
+    @GetMapping("/movies/autocomplete")
+    @Operation(summary = "Suggest the most popular movie names for a search box prefix")
+    public ResponseEntity<?> autocomplete(@RequestParam("prefix") String prefix,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        int topK = Math.max(0, Math.min(limit, AutocompleteIndex.TOP_K));
+        return cachedCatalogGet("autocomplete", Arrays.asList(prefix, topK),
+                () -> movieService.suggestMovieNames(prefix, topK));
+    }
+
+    @GetMapping("/movies/filter")
+    @Operation(summary = "Filter movies by genre, language, certificate and status, with facet counts")
+    public ResponseEntity<?> filterMovies(
+            @RequestParam(value = CatalogFacets.GENRE, required = false) List<String> genre,
+            @RequestParam(value = CatalogFacets.LANGUAGE, required = false) List<String> language,
+            @RequestParam(value = CatalogFacets.CERTIFICATE, required = false) List<String> certificate,
+            @RequestParam(value = CatalogFacets.STATUS, required = false) List<String> status,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            throw new InvalidPageRequestException("Page must be 0 or more and size between 1 and " + maxPageSize);
+        }
+        Map<String, List<String>> filters = new HashMap<>();
+        filters.put(CatalogFacets.GENRE, genre);
+        filters.put(CatalogFacets.LANGUAGE, language);
+        filters.put(CatalogFacets.CERTIFICATE, certificate);
+        filters.put(CatalogFacets.STATUS, status);
+        return cachedCatalogGet("filter", Arrays.asList(filters, page, size),
+                () -> movieService.filterMovies(filters, page, size));
+    }
+
+    /**
+     * Serves a response built from the catalog snapshot: 304 if the client already
+     * has this version, otherwise the pre-serialized (and, if accepted, gzipped)
+     * bytes for this version, building them only on a cache miss. When the
+     * snapshot cannot be loaded the body comes from a fallback and is not cached.
+     */
+    private ResponseEntity<?> cachedCatalogGet(String resource, List<?> parameters, Supplier<?> body) {
+        long version;
+        try {
+            version = catalogSnapshotService.getSnapshot().version();
+        } catch (RuntimeException e) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(body.get());
+        }
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean acceptsGzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        CacheControl cacheControl = CacheControl.maxAge(catalogMaxAge, TimeUnit.SECONDS).cachePublic();
+        String etag = EntityTags.ofLocalVersion(resource, version, parameters);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        // Either variant is the same content at this version, so either one is still valid
+        for (String variant : List.of(etag, EntityTags.gzipVariant(etag))) {
+            if (EntityTags.matches(ifNoneMatch, variant)) {
+                return EntityTags.notModified(variant, cacheControl);
+            }
         }
-        return ResponseEntity.ok(allMovies);
+
+        CachedBody cached = catalogResponseCache.get(resource + parameters, version, body);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip && cached.gzip() != null) {
+            return response.eTag(EntityTags.gzipVariant(etag))
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(cached.gzip());
+        }
+        return response.eTag(etag).body(cached.json());
+    }
+
+    @GetMapping("/movies/{movieId}")
+    @Operation(summary = "Get the full details of a movie")
+    public ResponseEntity<Movie> getMovieById(@PathVariable("movieId") ObjectId movieId) {
+        return ResponseEntity.ok(movieService.getMovieById(movieId));
+    }
+
+    @GetMapping("/movies/{movieId}/showtimes")
+    @Operation(summary = "Get the showtimes of a movie with their live ticket counts")
+    public ResponseEntity<List<Showtime>> getShowtimes(@PathVariable("movieId") ObjectId movieId) {
+        return ResponseEntity.ok(movieService.getShowtimes(movieId));
     }
 
     @PostMapping("/{movieName}/add")
     @SecurityRequirement(name = "Bearer Authentication")
     @Operation(summary = "book ticket")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<?> bookTickets(@RequestBody Ticket ticket, @PathVariable("movieName") String movieName) {
-        List<Ticket> allTickets = movieService.findSeats(movieName, ticket.getTheatreName());
-        for (Ticket each : allTickets) {
-            for (int i = 0; i < ticket.getNoOfTickets(); i++) {
-                if (each.getSeatNumber().contains(ticket.getSeatNumber().get(i))) {
-                    throw new SeatAlreadyBookedException(
-                            "Seat number " + ticket.getSeatNumber().get(i) + " is already booked!");
-                }
+    public ResponseEntity<?> bookTickets(@RequestBody Ticket ticket, @PathVariable("movieName") String movieName,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return idempotencyService.execute("booking:" + movieName, idempotencyKey, () -> {
+            if (movieService.bookTicket(movieName, ticket) == null) {
+                return new ResponseEntity<>("\"All Tickets Sold Out!\"", HttpStatus.OK);
             }
+            return ResponseEntity.ok("Tickets Booked Successfully! Seat Numbers are: " + ticket.getSeatNumber());
+        });
+    }
+
+    @GetMapping("/{movieName}/best-seats")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "suggest the best adjacent seats for a show")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<?> getBestSeats(@PathVariable("movieName") String movieName,
+            @RequestParam("theatreName") String theatreName, @RequestParam("count") int count) {
+        List<String> seats = seatAssignmentService.findBestSeats(movieName, theatreName, count);
+        if (seats == null) {
+            return new ResponseEntity<>("\"" + count + " adjacent seats are not available\"", HttpStatus.OK);
         }
+        return ResponseEntity.ok(seats);
+    }
 
-        if (movieService.findAvailableTickets(movieName, ticket.getTheatreName()).get(0).getTicketsAvailable() >= ticket
-                .getNoOfTickets()) {
-            movieService.addTicket(ticket);
-            movieService.updateAvailableTickets(movieName, ticket.getTheatreName(), ticket.getNoOfTickets());
-            return ResponseEntity.ok("Tickets Booked Successfully! Seat Numbers are: " + ticket.getSeatNumber());
+    @GetMapping("/theatres/{theatreName}/layout")
+    @Operation(summary = "get the seating layout of a theatre")
+    public ResponseEntity<AuditoriumLayout> getLayout(@PathVariable("theatreName") String theatreName) {
+        return ResponseEntity.ok(seatAssignmentService.getLayout(theatreName));
+    }
+
+    @PutMapping("/theatres/{theatreName}/layout")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Set the seating layout of a theatre (Admin Only)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AuditoriumLayout> saveLayout(@PathVariable("theatreName") String theatreName,
+            @Valid @RequestBody AuditoriumLayout layout) {
+        layout.setTheatreName(theatreName);
+        return ResponseEntity.ok(seatAssignmentService.saveLayout(layout));
+    }
+
+    @PostMapping("/bookings/batch")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "book tickets for several shows at once")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<BatchBookingResponse> bookTicketBatch(@RequestBody List<Ticket> tickets) {
+        BatchBookingResponse response = movieService.bookTicketBatch(tickets);
+        return new ResponseEntity<>(response, response.isBooked() ? HttpStatus.OK : HttpStatus.CONFLICT);
+    }
+
+    @PostMapping("/{movieName}/hold")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "hold seats for a limited time before booking")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<?> holdSeats(@RequestBody Ticket ticket, @PathVariable("movieName") String movieName,
+            @RequestParam(value = "minutes", required = false) Integer minutes) {
+        SeatHold seatHold = seatHoldService.hold(movieName, ticket, minutes);
+        if (seatHold == null) {
+            return new ResponseEntity<>("\"All Tickets Sold Out!\"", HttpStatus.OK);
+        }
+        return ResponseEntity.ok(new SeatHoldResponse(seatHold.getHoldId(), movieName, ticket.getTheatreName(),
+                ticket.getSeatNumber(), seatHold.getExpiresAt()));
+    }
+
+    @PostMapping("/holds/{holdId}/confirm")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "book the seats of a hold")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<?> confirmHold(@PathVariable("holdId") String holdId) {
+        Ticket ticket = seatHoldService.confirm(holdId);
+        if (ticket == null) {
+            return new ResponseEntity<>("\"All Tickets Sold Out!\"", HttpStatus.OK);
         }
+        return ResponseEntity.ok("Tickets Booked Successfully! Seat Numbers are: " + ticket.getSeatNumber());
+    }
 
-        return new ResponseEntity<>("\"All Tickets Sold Out!\"", HttpStatus.OK);
+    @DeleteMapping("/holds/{holdId}")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "release held seats")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<String> releaseHold(@PathVariable("holdId") String holdId) {
+        seatHoldService.release(holdId);
+        return new ResponseEntity<>("Seats released successfully!", HttpStatus.OK);
     }
 
     @GetMapping("/userTickets/{movieName}")
@@ -138,22 +374,18 @@ public class MovieController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<String> updateTicketStatus(@PathVariable("movieName") String movieName,
             @PathVariable("ticketId") ObjectId ticketId) {
-        List<Movie> movie = movieRepository.findByMovieName(movieName);
+        Movie movie = catalogSnapshotService.findReviewedMovie(movieName);
         List<Ticket> ticket = ticketRepository.findByTicketId(ticketId);
-        if (movie.isEmpty()) {
+        if (movie == null) {
             throw new MovieNotFoundException("Movie not found: " + movieName);
         }
         if (ticket.isEmpty()) {
             throw new NoSuchElementException("Ticket not found: " + ticketId);
         }
-        for (Movie eachMovie : movie) {
-            if (eachMovie.getTicketsAvailable().equals(0)) {
-                eachMovie.setTicketStatus("SOLD OUT");
-            } else {
-                eachMovie.setTicketStatus("BOOK ASAP");
-            }
-            movieService.addMovie(eachMovie);
-        }
+        // Bookings keep ticketStatus in step with ticketsAvailable; this only repairs
+        // documents whose status was written by hand
+        showtimeRepository.refreshTicketStatus(movie.getMovieName());
+        movieService.syncTicketStatus(showtimeRepository.findByMovieName(movie.getMovieName()));
         return new ResponseEntity<>("Ticket status updated successfully!", HttpStatus.OK);
     }
 
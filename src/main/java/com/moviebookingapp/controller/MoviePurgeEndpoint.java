@@ -0,0 +1,27 @@
+package com.moviebookingapp.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.moviebookingapp.service.MoviePurgeService;
+
+/**
+ * /actuator/moviepurge: how many deleted movies are still waiting to be purged,
+ * and how many of their documents the purge job has removed so far.
+ */
+@Component
+@Endpoint(id = "moviepurge")
+public class MoviePurgeEndpoint {
+
+    @Autowired
+    private MoviePurgeService moviePurgeService;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return moviePurgeService.status();
+    }
+}
\ No newline at end of file
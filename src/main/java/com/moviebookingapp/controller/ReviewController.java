@@ -1,11 +1,16 @@
 package com.moviebookingapp.controller;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -16,18 +21,25 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.moviebookingapp.exception.DatabaseUnavailableException;
+import com.moviebookingapp.exception.InvalidPageRequestException;
 import com.moviebookingapp.model.Movie;
 import com.moviebookingapp.model.Review;
 import com.moviebookingapp.model.User;
 import com.moviebookingapp.payload.request.ReviewRequest;
 import com.moviebookingapp.payload.response.MessageResponse;
+import com.moviebookingapp.payload.response.ReviewPage;
 import com.moviebookingapp.payload.response.ReviewResponse;
 import com.moviebookingapp.repository.MovieRepository;
 import com.moviebookingapp.repository.ReviewRepository;
 import com.moviebookingapp.repository.UserRepository;
 import com.moviebookingapp.security.jwt.JwtUtils;
+import com.moviebookingapp.service.CatalogSnapshotService;
+import com.moviebookingapp.service.IdempotencyService;
+import com.moviebookingapp.service.ReviewCursor;
 
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
@@ -49,12 +61,33 @@ public class ReviewController {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Value("${reelcritic.http.reviews-max-age-seconds:10}")
+    private long reviewsMaxAge;
+
+    @Value("${reelcritic.reviews.page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${reelcritic.reviews.max-page-size:100}")
+    private int maxPageSize;
+
     @PostMapping("/movies/{movieName}/reviews")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     @Operation(summary = "Add a review for a movie")
     public ResponseEntity<?> addReview(@PathVariable String movieName,
             @Valid @RequestBody ReviewRequest reviewRequest,
-            @RequestHeader("Authorization") String token) {
+            @RequestHeader("Authorization") String token,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return idempotencyService.execute("review:" + movieName, idempotencyKey,
+                () -> saveReview(movieName, reviewRequest, token));
+    }
+
+    private ResponseEntity<?> saveReview(String movieName, ReviewRequest reviewRequest, String token) {
         try {
             String jwt = token.substring(7);
             String username = jwtUtils.getUsernameFromToken(jwt);
@@ -64,13 +97,12 @@ public class ReviewController {
                 return ResponseEntity.badRequest().body(new MessageResponse("User not found"));
             }
 
-            List<Movie> movies = movieRepository.findByMovieName(movieName);
-            if (movies.isEmpty()) {
+            Movie movie = catalogSnapshotService.findReviewedMovie(movieName);
+            if (movie == null) {
                 return ResponseEntity.badRequest().body(new MessageResponse("Movie not found"));
             }
 
             User user = userOptional.get();
-            Movie movie = movies.get(0);
 
             if (reviewRepository.existsByUserAndMovie(user, movie)) {
                 return ResponseEntity.badRequest().body(new MessageResponse("You have already reviewed this movie"));
@@ -80,39 +112,66 @@ public class ReviewController {
                     reviewRequest.getTitle(), reviewRequest.getContent());
             reviewRepository.save(review);
 
-            updateMovieRating(movie);
+            Movie updated = movieRepository.applyRatingChange(movie.getMovieId(), review.getRating(), 1);
+            if (updated == null) {
+                // First review since aggregates were introduced: build them from the reviews
+                updated = movieRepository.repairRatingAggregates(movie.getMovieId());
+            }
+            catalogSnapshotService.upsert(updated);
 
             return ResponseEntity.ok(new MessageResponse("Review added successfully"));
+        } catch (DatabaseUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new MessageResponse("Error adding review: " + e.getMessage()));
         }
     }
 
     @GetMapping("/movies/{movieName}/reviews")
-    @Operation(summary = "Get all reviews for a movie")
-    public ResponseEntity<List<ReviewResponse>> getMovieReviews(@PathVariable String movieName) {
+    @Operation(summary = "Get a page of reviews for a movie")
+    public ResponseEntity<ReviewPage> getMovieReviews(@PathVariable String movieName,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        int pageSize = pageSize(size);
+        ReviewCursor after = pagePosition(cursor);
         try {
-            List<Movie> movies = movieRepository.findByMovieName(movieName);
-            if (movies.isEmpty()) {
+            Movie movie = catalogSnapshotService.findReviewedMovie(movieName);
+            if (movie == null) {
                 return ResponseEntity.notFound().build();
             }
 
-            Movie movie = movies.get(0);
-            List<Review> reviews = reviewRepository.findByMovieOrderByCreatedDateDesc(movie);
+            CacheControl cacheControl = CacheControl.maxAge(reviewsMaxAge, TimeUnit.SECONDS).cachePublic();
+            String etag = EntityTags.of("reviews-" + movie.getMovieId(),
+                    movie.getReviewVersion() != null ? movie.getReviewVersion() : 0, cursor, pageSize);
+            if (EntityTags.matches(ifNoneMatch, etag)) {
+                return EntityTags.notModified(etag, cacheControl);
+            }
+            // One extra row tells whether there is a next page
+            List<Review> reviews = new ArrayList<>(reviewRepository.findPageByMovie(movie,
+                    after != null ? after.lastCreatedDate() : null, after != null ? after.lastId() : null,
+                    pageSize + 1));
+            String nextCursor = nextCursor(reviews, pageSize);
 
             List<ReviewResponse> reviewResponses = reviews.stream()
                     .map(this::convertToResponse)
                     .collect(Collectors.toList());
 
-            return ResponseEntity.ok(reviewResponses);
+            // The stored count saves a count query on every page
+            return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl)
+                    .body(new ReviewPage(reviewResponses, nextCursor, movie.getReviewCount()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @GetMapping("/users/{username}/reviews")
-    @Operation(summary = "Get all reviews by a user")
-    public ResponseEntity<List<ReviewResponse>> getUserReviews(@PathVariable String username) {
+    @Operation(summary = "Get a page of reviews by a user")
+    public ResponseEntity<ReviewPage> getUserReviews(@PathVariable String username,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        int pageSize = pageSize(size);
+        ReviewCursor after = pagePosition(cursor);
         try {
             Optional<User> userOptional = userRepository.findByUsername(username);
             if (userOptional.isEmpty()) {
@@ -120,13 +179,18 @@ public class ReviewController {
             }
 
             User user = userOptional.get();
-            List<Review> reviews = reviewRepository.findByUserOrderByCreatedDateDesc(user);
+            List<Review> reviews = new ArrayList<>(reviewRepository.findPageByUser(user,
+                    after != null ? after.lastCreatedDate() : null, after != null ? after.lastId() : null,
+                    pageSize + 1));
+            String nextCursor = nextCursor(reviews, pageSize);
 
+            // Reviews of a deleted movie are hidden until they are purged, so a page can come up short
             List<ReviewResponse> reviewResponses = reviews.stream()
+                    .filter(review -> review.getMovie() != null && review.getMovie().getDeletedAt() == null)
                     .map(this::convertToResponse)
                     .collect(Collectors.toList());
 
-            return ResponseEntity.ok(reviewResponses);
+            return ResponseEntity.ok(new ReviewPage(reviewResponses, nextCursor, null));
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -144,6 +208,9 @@ public class ReviewController {
             Review review = reviewOptional.get();
             review.setHelpful(review.getHelpful() + 1);
             reviewRepository.save(review);
+            if (review.getMovie() != null) {
+                catalogSnapshotService.upsert(movieRepository.incrementReviewVersion(review.getMovie().getMovieId()));
+            }
 
             return ResponseEntity.ok(new MessageResponse("Review marked as helpful"));
         } catch (Exception e) {
@@ -151,18 +218,35 @@ public class ReviewController {
         }
     }
 
-    private void updateMovieRating(Movie movie) {
-        List<Review> reviews = reviewRepository.findByMovieOrderByCreatedDateDesc(movie);
-        if (!reviews.isEmpty()) {
-            double averageRating = reviews.stream()
-                    .mapToDouble(Review::getRating)
-                    .average()
-                    .orElse(0.0);
-
-            movie.setRating(averageRating * 2);
-            movie.setReviewCount(reviews.size());
-            movieRepository.save(movie);
+    private int pageSize(Integer size) {
+        int pageSize = Math.min(size != null ? size : defaultPageSize, maxPageSize);
+        if (pageSize < 1) {
+            throw new InvalidPageRequestException("Page size must be at least 1");
+        }
+        return pageSize;
+    }
+
+    private ReviewCursor pagePosition(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        ReviewCursor after = ReviewCursor.decode(cursor);
+        if (after == null) {
+            throw new InvalidPageRequestException("Invalid cursor");
+        }
+        return after;
+    }
+
+    /**
+     * Drops the extra row fetched past the page and returns the cursor of the
+     * page's last review, or null when there is no next page.
+     */
+    private String nextCursor(List<Review> reviews, int pageSize) {
+        if (reviews.size() <= pageSize) {
+            return null;
         }
+        reviews.remove(pageSize);
+        return ReviewCursor.after(reviews.get(pageSize - 1)).encode();
     }
 
     private ReviewResponse convertToResponse(Review review) {
@@ -0,0 +1,38 @@
+package com.moviebookingapp.event;
+
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.moviebookingapp.model.Ticket;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A booking confirmed in memory that still has to be written to MongoDB.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingEvent {
+
+    private String ticketId;
+    private String username;
+    private String movieName;
+    private String theatreName;
+    private Integer noOfTickets;
+    private List<String> seatNumber;
+
+    public static BookingEvent of(Ticket ticket) {
+        return new BookingEvent(ticket.getTicketId().toHexString(), ticket.getUsername(), ticket.getMovieName(),
+                ticket.getTheatreName(), ticket.getNoOfTickets(), ticket.getSeatNumber());
+    }
+
+    public Ticket toTicket() {
+        Ticket ticket = new Ticket(new ObjectId(ticketId), username, movieName, theatreName, noOfTickets, seatNumber);
+        ticket.setCountPending(true);
+        return ticket;
+    }
+}
\ No newline at end of file
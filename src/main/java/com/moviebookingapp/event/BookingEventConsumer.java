@@ -0,0 +1,63 @@
+package com.moviebookingapp.event;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import com.moviebookingapp.model.ShowKey;
+import com.moviebookingapp.model.Ticket;
+import com.moviebookingapp.repository.ShowtimeRepository;
+import com.moviebookingapp.repository.TicketRepository;
+import com.moviebookingapp.service.MovieService;
+
+/**
+ * Writes booking events to MongoDB in batches: one bulk insert for the tickets
+ * and one bulk update for the ticket counts of every poll.
+ *
+ * A redelivered poll may already be partly written, so counts are not keyed on
+ * which tickets the insert wrote this time. Tickets are inserted flagged as
+ * countPending; every delivery takes the count of each still-pending ticket,
+ * which the showtime's countedTickets guard makes a no-op for a ticket already
+ * counted, and only then clears the flags.
+ */
+@Component
+@ConditionalOnProperty(name = "reelcritic.booking.mode", havingValue = "write-behind")
+public class BookingEventConsumer {
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private MovieService movieService;
+
+    @KafkaListener(topics = "${reelcritic.booking.events-topic:booking-events}",
+            groupId = "${reelcritic.booking.events-group:reelcritic-booking-writer}", batch = "true")
+    public void persist(List<BookingEvent> events) {
+        List<Ticket> tickets = events.stream().map(BookingEvent::toTicket).toList();
+        ticketRepository.insertIgnoringDuplicates(tickets);
+        List<Ticket> pending = ticketRepository.findCountPending(tickets.stream().map(Ticket::getTicketId).toList());
+        if (pending.isEmpty()) {
+            return;
+        }
+        showtimeRepository.takeTicketsOnce(pending);
+        List<ObjectId> pendingIds = pending.stream().map(Ticket::getTicketId).toList();
+        ticketRepository.clearCountPending(pendingIds);
+        // Ids left behind by a crash before this point are harmless; they never come back
+        showtimeRepository.forgetCountedTickets(pending);
+
+        Set<ShowKey> shows = new LinkedHashSet<>();
+        for (Ticket ticket : pending) {
+            shows.add(new ShowKey(ticket.getMovieName(), ticket.getTheatreName()));
+        }
+        movieService.syncTicketStatus(showtimeRepository.findShows(shows));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.moviebookingapp.exception;
+
+public class DatabaseUnavailableException extends RuntimeException {
+    public DatabaseUnavailableException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.moviebookingapp.exception;
+
+public class HoldNotFoundException extends RuntimeException {
+    public HoldNotFoundException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
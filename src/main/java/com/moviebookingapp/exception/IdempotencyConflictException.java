@@ -0,0 +1,7 @@
+package com.moviebookingapp.exception;
+
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
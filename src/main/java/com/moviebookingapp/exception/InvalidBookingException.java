@@ -0,0 +1,7 @@
+package com.moviebookingapp.exception;
+
+public class InvalidBookingException extends RuntimeException {
+    public InvalidBookingException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
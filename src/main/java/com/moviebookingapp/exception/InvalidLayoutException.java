@@ -0,0 +1,7 @@
+package com.moviebookingapp.exception;
+
+public class InvalidLayoutException extends RuntimeException {
+    public InvalidLayoutException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
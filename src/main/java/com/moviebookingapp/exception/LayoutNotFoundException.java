@@ -0,0 +1,7 @@
+package com.moviebookingapp.exception;
+
+public class LayoutNotFoundException extends RuntimeException {
+    public LayoutNotFoundException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.moviebookingapp.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * Seating plan of a theatre. Rows are lettered from the screen backwards ("A" is
+ * the front row) and seats are numbered from 1 along each row.
+ */
+@Document(value = "auditorium_layout")
+@Data
+public class AuditoriumLayout {
+
+    @Id
+    private ObjectId layoutId;
+
+    @NotBlank
+    @Indexed(unique = true)
+    private String theatreName;
+
+    @Min(1)
+    @Max(702)
+    private int rows;
+
+    @Min(1)
+    @Max(64)
+    private int seatsPerRow;
+
+    /**
+     * Seat numbers followed by an aisle, e.g. 4 means there is an aisle between
+     * seats 4 and 5 of every row.
+     */
+    private List<Integer> aisles = new ArrayList<>();
+
+    private List<String> blockedSeats = new ArrayList<>();
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.moviebookingapp.model;
+
+import java.util.Date;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Document(value = "idempotency_key")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    private String key;
+    private int status;
+    private String contentType;
+    private String body;
+
+    // Set while a node runs the request; replaced by the response once it finishes
+    private boolean pending;
+
+    // Expires through a TTL index built by MongoIndexRegistry from reelcritic.idempotency.ttl-minutes
+    private Date createdAt;
+}
\ No newline at end of file
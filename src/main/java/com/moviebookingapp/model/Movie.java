@@ -1,15 +1,29 @@
 package com.moviebookingapp.model;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonProperty.Access;
+
 import lombok.Data;
 
 @Document(value = "movie")
+@CompoundIndexes({
+        @CompoundIndex(name = "movieName_theatreName", def = "{'movieName': 1, 'theatreName': 1}"),
+        @CompoundIndex(name = "rating_page", def = "{'rating': -1, '_id': -1}"),
+        @CompoundIndex(name = "releaseDate_page", def = "{'releaseDate': -1, '_id': -1}")
+})
 @Data
 public class Movie {
 
@@ -31,8 +45,26 @@ public class Movie {
     private String certificate;
     private String trailerUrl;
     private String bookMyShowUrl;
+    /**
+     * Tickets to open the movie's showtime with when it is added; the live count
+     * is kept on the {@link Showtime} and is not stored here.
+     */
+    @Transient
+    @JsonProperty(access = Access.WRITE_ONLY)
     private Integer ticketsAvailable;
+    // Follows the showtime's status, only rewritten when that status changes
     private String ticketStatus;
+    // Running total and number of review ratings, with rating derived from them
+    @JsonIgnore
+    private Double ratingSum;
+    @JsonIgnore
+    private Integer ratingCount;
+    // Incremented on every review write for this movie; tags the review listing
+    private Long reviewVersion;
+    // Set when the movie is deleted; it stays hidden until its tickets and reviews are purged
+    @JsonIgnore
+    @Indexed(sparse = true)
+    private Instant deletedAt;
 
     public Movie() {
     }
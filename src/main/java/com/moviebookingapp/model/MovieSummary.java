@@ -0,0 +1,39 @@
+package com.moviebookingapp.model;
+
+import java.time.LocalDate;
+
+import org.springframework.data.annotation.Id;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The fields of a movie shown in catalog listings. The full document is served
+ * by the movie detail endpoint.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MovieSummary {
+
+    public static final String[] FIELDS = { "movieName", "theatreName", "moviePoster", "rating", "status", "genre",
+            "releaseDate", "ticketStatus" };
+
+    @Id
+    private String movieId;
+    private String movieName;
+    private String theatreName;
+    private String moviePoster;
+    private Double rating;
+    private String status;
+    private String genre;
+    private LocalDate releaseDate;
+    private String ticketStatus;
+
+    public static MovieSummary of(Movie movie) {
+        return new MovieSummary(movie.getMovieId() != null ? movie.getMovieId().toHexString() : null,
+                movie.getMovieName(), movie.getTheatreName(), movie.getMoviePoster(), movie.getRating(),
+                movie.getStatus(), movie.getGenre(), movie.getReleaseDate(), movie.getTicketStatus());
+    }
+}
\ No newline at end of file
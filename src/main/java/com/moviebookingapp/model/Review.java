@@ -4,12 +4,18 @@ import java.time.LocalDateTime;
 
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import lombok.Data;
 
 @Document(value = "review")
+@CompoundIndexes({
+        @CompoundIndex(name = "movie_createdDate_id", def = "{'movie': 1, 'createdDate': -1, '_id': -1}"),
+        @CompoundIndex(name = "user_createdDate_id", def = "{'user': 1, 'createdDate': -1, '_id': -1}")
+})
 @Data
 public class Review {
 
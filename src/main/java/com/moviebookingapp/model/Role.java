@@ -1,6 +1,7 @@
 package com.moviebookingapp.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import lombok.Data;
@@ -11,6 +12,7 @@ public class Role {
 
     @Id
     private String roleId;
+    @Indexed(unique = true)
     private UserRole role;
 
     public Role() {
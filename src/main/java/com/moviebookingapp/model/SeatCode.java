@@ -0,0 +1,93 @@
+package com.moviebookingapp.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs a seat label such as "A12" into a single int, with the row number
+ * ("A" = 1, "Z" = 26, "AA" = 27, ...) in the upper 16 bits and the seat number
+ * in the lower 16 bits. Labels are upper-cased and lose leading zeros, so "a012"
+ * and "A12" are the same seat; any canonical label survives a round trip
+ * unchanged.
+ */
+public final class SeatCode {
+
+    private static final int MAX_ROW = 702;
+    private static final int MAX_COLUMN = 0xFFFF;
+
+    private SeatCode() {
+    }
+
+    public static int encode(String seat) {
+        if (seat == null) {
+            throw new IllegalArgumentException("Seat number is required");
+        }
+        String label = seat.trim().toUpperCase();
+        int row = 0;
+        int i = 0;
+        while (i < label.length() && label.charAt(i) >= 'A' && label.charAt(i) <= 'Z') {
+            row = row * 26 + (label.charAt(i) - 'A' + 1);
+            if (row > MAX_ROW) {
+                throw new IllegalArgumentException("Invalid seat number: " + seat);
+            }
+            i++;
+        }
+        if (row == 0 || i == label.length() || label.length() - i > 5) {
+            throw new IllegalArgumentException("Invalid seat number: " + seat);
+        }
+        int column = 0;
+        for (; i < label.length(); i++) {
+            char c = label.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Invalid seat number: " + seat);
+            }
+            column = column * 10 + (c - '0');
+        }
+        if (column == 0 || column > MAX_COLUMN) {
+            throw new IllegalArgumentException("Invalid seat number: " + seat);
+        }
+        return of(row, column);
+    }
+
+    public static String decode(int code) {
+        StringBuilder row = new StringBuilder();
+        for (int r = row(code); r > 0; r = (r - 1) / 26) {
+            row.append((char) ('A' + (r - 1) % 26));
+        }
+        return row.reverse().append(column(code)).toString();
+    }
+
+    public static int of(int row, int column) {
+        return row << 16 | column;
+    }
+
+    public static int row(int code) {
+        return code >>> 16;
+    }
+
+    public static int column(int code) {
+        return code & MAX_COLUMN;
+    }
+
+    public static int[] encodeAll(List<String> seats) {
+        if (seats == null) {
+            return null;
+        }
+        int[] codes = new int[seats.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = encode(seats.get(i));
+        }
+        return codes;
+    }
+
+    public static List<String> decodeAll(int[] codes) {
+        if (codes == null) {
+            return null;
+        }
+        List<String> seats = new ArrayList<>(codes.length);
+        for (int code : codes) {
+            seats.add(decode(code));
+        }
+        return seats;
+    }
+}
\ No newline at end of file
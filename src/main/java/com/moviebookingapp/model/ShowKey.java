@@ -0,0 +1,7 @@
+package com.moviebookingapp.model;
+
+/**
+ * Identifies a single show, i.e. one movie playing in one theatre.
+ */
+public record ShowKey(String movieName, String theatreName) {
+}
\ No newline at end of file
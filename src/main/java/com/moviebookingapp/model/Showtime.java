@@ -0,0 +1,59 @@
+package com.moviebookingapp.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Data;
+
+/**
+ * The bookable inventory of a movie at a theatre, kept apart from the movie
+ * document so that a booking only rewrites this small document. Bookings
+ * address a showtime by movie and theatre name, as {@link ShowKey} does.
+ */
+@Document(value = "showtime")
+@CompoundIndexes({
+        @CompoundIndex(name = "movieName_theatreName_startTime",
+                def = "{'movieName': 1, 'theatreName': 1, 'startTime': 1}", unique = true)
+})
+@Data
+public class Showtime {
+
+    @Id
+    private ObjectId showtimeId;
+    @Indexed
+    private ObjectId movieId;
+    private String movieName;
+    private String theatreName;
+    private LocalDateTime startTime;
+    private Integer capacity;
+    private Integer ticketsAvailable;
+    private String ticketStatus;
+
+    /**
+     * Write-behind tickets whose count has been taken from ticketsAvailable but
+     * that are not yet marked as counted; guards against taking it twice.
+     */
+    @JsonIgnore
+    private List<ObjectId> countedTickets;
+
+    public Showtime() {
+    }
+
+    public Showtime(Movie movie, Integer capacity, Integer ticketsAvailable, String ticketStatus) {
+        this.movieId = movie.getMovieId();
+        this.movieName = movie.getMovieName();
+        this.theatreName = movie.getTheatreName();
+        this.capacity = capacity;
+        this.ticketsAvailable = ticketsAvailable;
+        this.ticketStatus = ticketStatus;
+    }
+}
\ No newline at end of file
@@ -4,22 +4,53 @@ import java.util.List;
 
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.Data;
 
 @Document(value = "ticket")
+@CompoundIndexes({
+        @CompoundIndex(name = "movieName_theatreName", def = "{'movieName': 1, 'theatreName': 1}"),
+        // One ticket per seat of a show across every node; legacy tickets without seats are left out
+        @CompoundIndex(name = Ticket.SEATS_INDEX, def = "{'movieName': 1, 'theatreName': 1, 'seats': 1}",
+                unique = true, partialFilter = "{'seats': {$exists: true}}")
+})
 @Data
 public class Ticket {
 
+    public static final String SEATS_INDEX = "movieName_theatreName_seats";
+
     @Id
     private ObjectId ticketId;
     private String username;
     private String movieName;
     private String theatreName;
     private Integer noOfTickets;
+
+    /**
+     * Seats as labels such as "A12"; this is the API form and is not stored.
+     */
+    @Transient
     private List<String> seatNumber;
 
+    /**
+     * Seats as {@link SeatCode}s; this is the stored form.
+     */
+    @JsonIgnore
+    private int[] seats;
+
+    /**
+     * Set on write-behind tickets until their count has been taken from the
+     * showtime; unset on every other ticket.
+     */
+    @JsonIgnore
+    private Boolean countPending;
+
     public Ticket() {
         super();
     }
@@ -29,7 +60,7 @@ public class Ticket {
         this.movieName = movieName;
         this.theatreName = theatreName;
         this.noOfTickets = noOfTickets;
-        this.seatNumber = seatNumber;
+        setSeatNumber(seatNumber);
     }
 
     public Ticket(ObjectId ticketId, String username, String movieName, String theatreName, Integer noOfTickets,
@@ -40,7 +71,7 @@ public class Ticket {
         this.movieName = movieName;
         this.theatreName = theatreName;
         this.noOfTickets = noOfTickets;
-        this.seatNumber = seatNumber;
+        setSeatNumber(seatNumber);
     }
 
     public ObjectId getTicketId() {
@@ -84,10 +115,33 @@ public class Ticket {
     }
 
     public List<String> getSeatNumber() {
+        if (seatNumber == null && seats != null) {
+            seatNumber = SeatCode.decodeAll(seats);
+        }
         return seatNumber;
     }
 
     public void setSeatNumber(List<String> seatNumber) {
+        this.seats = SeatCode.encodeAll(seatNumber);
+        this.seatNumber = SeatCode.decodeAll(seats);
+    }
+
+    /**
+     * Keeps seat labels that cannot be encoded, as some legacy tickets carry,
+     * without any seats.
+     */
+    @JsonIgnore
+    public void setUnencodedSeatNumber(List<String> seatNumber) {
+        this.seats = null;
         this.seatNumber = seatNumber;
     }
+
+    public int[] getSeats() {
+        return seats;
+    }
+
+    public void setSeats(int[] seats) {
+        this.seats = seats;
+        this.seatNumber = null;
+    }
 }
\ No newline at end of file
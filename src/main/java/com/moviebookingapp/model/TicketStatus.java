@@ -0,0 +1,25 @@
+package com.moviebookingapp.model;
+
+/**
+ * Values of {@link Movie#getTicketStatus()}. The status is derived from
+ * ticketsAvailable whenever the count is written.
+ */
+public final class TicketStatus {
+
+    public static final String SOLD_OUT = "SOLD OUT";
+    public static final String FILLING_FAST = "FILLING FAST";
+    public static final String BOOK_ASAP = "BOOK ASAP";
+
+    private TicketStatus() {
+    }
+
+    public static String of(Integer ticketsAvailable, int lowStockThreshold) {
+        if (ticketsAvailable == null) {
+            return null;
+        }
+        if (ticketsAvailable <= 0) {
+            return SOLD_OUT;
+        }
+        return ticketsAvailable <= lowStockThreshold ? FILLING_FAST : BOOK_ASAP;
+    }
+}
\ No newline at end of file
@@ -5,6 +5,7 @@ import java.util.Set;
 
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -23,6 +24,7 @@ public class User {
 
     @NotBlank
     @Size(max = 20)
+    @Indexed(unique = true)
     private String username;
 
     @NotBlank
@@ -34,6 +36,7 @@ public class User {
     @NotBlank
     @Size(max = 50)
     @Email
+    @Indexed(unique = true)
     private String email;
 
     @NotBlank
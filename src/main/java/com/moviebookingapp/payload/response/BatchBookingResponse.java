@@ -0,0 +1,17 @@
+package com.moviebookingapp.payload.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchBookingResponse {
+
+    private boolean booked;
+    private String message;
+    private List<BookingResult> results;
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.moviebookingapp.payload.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingResult {
+
+    public static final String BOOKED = "BOOKED";
+    public static final String REJECTED = "REJECTED";
+    public static final String NOT_BOOKED = "NOT_BOOKED";
+
+    private String ticketId;
+    private String movieName;
+    private String theatreName;
+    private List<String> seatNumber;
+    private String status;
+    private String message;
+}
\ No newline at end of file
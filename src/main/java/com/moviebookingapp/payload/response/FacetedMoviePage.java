@@ -0,0 +1,23 @@
+package com.moviebookingapp.payload.response;
+
+import java.util.List;
+import java.util.Map;
+
+import com.moviebookingapp.model.MovieSummary;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacetedMoviePage {
+
+    private List<MovieSummary> movies;
+    private int page;
+    private int size;
+    private int totalHits;
+    // facet -> value -> number of matching movies
+    private Map<String, Map<String, Integer>> facets;
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.moviebookingapp.payload.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MoviePage<T> {
+
+    private List<T> movies;
+    // Pass back as ?cursor= to get the next page; null on the last page
+    private String nextCursor;
+}
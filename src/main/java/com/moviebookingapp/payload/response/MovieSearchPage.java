@@ -0,0 +1,22 @@
+package com.moviebookingapp.payload.response;
+
+import java.util.List;
+
+import com.moviebookingapp.model.MovieSummary;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MovieSearchPage {
+
+    // Best match first
+    private List<MovieSummary> movies;
+    private int page;
+    private int size;
+    // Matches that can be paged to, capped at reelcritic.search.max-results
+    private int totalHits;
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.moviebookingapp.payload.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReviewPage {
+
+    private List<ReviewResponse> reviews;
+    // Pass back as ?cursor= to get the next page; null on the last page
+    private String nextCursor;
+    // The movie's stored review count; null for a user's reviews
+    private Integer total;
+}
\ No newline at end of file
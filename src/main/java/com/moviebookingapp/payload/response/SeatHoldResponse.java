@@ -0,0 +1,20 @@
+package com.moviebookingapp.payload.response;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SeatHoldResponse {
+
+    private String holdId;
+    private String movieName;
+    private String theatreName;
+    private List<String> seatNumber;
+    private Instant expiresAt;
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.moviebookingapp.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.moviebookingapp.model.AuditoriumLayout;
+
+@Repository
+public interface AuditoriumLayoutRepository extends MongoRepository<AuditoriumLayout, ObjectId> {
+
+    Optional<AuditoriumLayout> findByTheatreName(String theatreName);
+
+    List<AuditoriumLayout> findByTheatreNameIn(Collection<String> theatreNames);
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.moviebookingapp.repository;
+
+import java.util.Date;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.moviebookingapp.model.IdempotencyRecord;
+
+@Repository
+public interface IdempotencyRecordRepository extends MongoRepository<IdempotencyRecord, String> {
+
+    /**
+     * Removes a record only while it is still the one the caller saw, so a node
+     * never drops a claim another node has made since.
+     */
+    long deleteByKeyAndCreatedAt(String key, Date createdAt);
+}
\ No newline at end of file
@@ -3,20 +3,17 @@ package com.moviebookingapp.repository;
 import java.util.List;
 
 import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.moviebookingapp.config.QueryPlanRecorder;
 import com.moviebookingapp.model.Movie;
 
 @Repository
-public interface MovieRepository extends MongoRepository<Movie, ObjectId> {
+public interface MovieRepository extends MongoRepository<Movie, ObjectId>, MovieRepositoryCustom {
 
-    @Query("{$or:[{movieName:{$regex:?0, $options:'i'}}, {movieName:{$regex:'^?0', $options:'i'}}]}")
-    List<Movie> findByMovieName(String movieName);
-
-    @Query("{'movieName' : ?0,'theatreName' : ?1}")
-    List<Movie> findAvailableTickets(String moviename, String theatreName);
-
-    void deleteByMovieName(String movieName);
+    // Loads the whole live catalog, so it reads every movie by design
+    @Meta(comment = QueryPlanRecorder.FULL_READ)
+    List<Movie> findByDeletedAtIsNull();
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.moviebookingapp.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.moviebookingapp.model.Movie;
+import com.moviebookingapp.model.MovieSummary;
+
+public interface MovieRepositoryCustom {
+
+    /**
+     * Tombstones every movie with the given name that is not deleted yet, and
+     * returns how many were.
+     */
+    long markDeleted(String movieName, Instant deletedAt);
+
+    /**
+     * Sets the movie's ticketStatus, returning the updated movie, or null when it
+     * already had that status.
+     */
+    Movie updateTicketStatus(String movieName, String theatreName, String ticketStatus);
+
+    /**
+     * Adds a review's rating to the movie's running sum and count, re-derives
+     * rating and reviewCount from them and bumps reviewVersion, all in one atomic
+     * update: (rating, 1) for a new review, (new - old, 0) for an edit and
+     * (-rating, -1) for a deletion. Returns the updated movie, or null when the
+     * movie has no running aggregates yet and needs a repair first.
+     */
+    Movie applyRatingChange(ObjectId movieId, double ratingDelta, int countDelta);
+
+    /**
+     * Recomputes one movie's rating aggregates from its reviews and bumps
+     * reviewVersion, returning the updated movie.
+     */
+    Movie repairRatingAggregates(ObjectId movieId);
+
+    /**
+     * Recomputes the rating aggregates of every movie from the review collection
+     * with one aggregation, and rewrites those that drifted in one bulk write.
+     * Movies that never had a review are left as they are. Each rewrite only
+     * applies if the movie still holds the aggregates read before the
+     * aggregation, so a rating applied meanwhile is never overwritten; such
+     * movies are checked again on the next run. Returns how many movies were
+     * corrected.
+     */
+    long repairRatingAggregates();
+
+    /**
+     * Bumps reviewVersion after a change to one of the movie's reviews, returning
+     * the updated movie.
+     */
+    Movie incrementReviewVersion(ObjectId movieId);
+
+    /**
+     * Keyset pagination: returns up to limit movies ordered by field and then _id,
+     * starting right after the movie at (lastValue, lastId), or from the start when
+     * lastId is null. Movies without the field sort first ascending and last
+     * descending, as in MongoDB. Each page is one index range scan, however deep.
+     */
+    List<Movie> findPage(String field, boolean descending, Object lastValue, ObjectId lastId, int limit);
+
+    /**
+     * Same as findPage, but reads only the listing fields of each movie.
+     */
+    List<MovieSummary> findSummaryPage(String field, boolean descending, Object lastValue, ObjectId lastId,
+            int limit);
+}
\ No newline at end of file
@@ -0,0 +1,199 @@
+package com.moviebookingapp.repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.Fields;
+import org.springframework.data.mongodb.core.aggregation.SetOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.DBRef;
+import com.moviebookingapp.config.QueryPlanRecorder;
+import com.moviebookingapp.model.Movie;
+import com.moviebookingapp.model.MovieSummary;
+import com.moviebookingapp.model.Review;
+
+public class MovieRepositoryImpl implements MovieRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public long markDeleted(String movieName, Instant deletedAt) {
+        return mongoTemplate.updateMulti(
+                new Query(Criteria.where("movieName").is(movieName).and("deletedAt").exists(false)),
+                new Update().set("deletedAt", deletedAt), Movie.class).getModifiedCount();
+    }
+
+    @Override
+    public Movie updateTicketStatus(String movieName, String theatreName, String ticketStatus) {
+        Query query = new Query(Criteria.where("movieName").is(movieName).and("theatreName").is(theatreName)
+                .and("ticketStatus").ne(ticketStatus));
+        return mongoTemplate.findAndModify(query, new Update().set("ticketStatus", ticketStatus),
+                FindAndModifyOptions.options().returnNew(true), Movie.class);
+    }
+
+    @Override
+    public Movie applyRatingChange(ObjectId movieId, double ratingDelta, int countDelta) {
+        Query query = new Query(Criteria.where("movieId").is(movieId).and("ratingCount").exists(true));
+        AggregationUpdate update = AggregationUpdate.from(List.of(
+                SetOperation.builder()
+                        .set("ratingSum").toValue(ArithmeticOperators.valueOf("ratingSum").add(ratingDelta))
+                        .and().set("ratingCount").toValue(ArithmeticOperators.valueOf("ratingCount").add(countDelta))
+                        .and().set("reviewVersion").toValue(
+                                ArithmeticOperators.valueOf(ConditionalOperators.ifNull("reviewVersion").then(0))
+                                        .add(1)),
+                ratingStage()));
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true),
+                Movie.class);
+    }
+
+    @Override
+    public Movie repairRatingAggregates(ObjectId movieId) {
+        List<Document> totals = reviewTotals(new Document("movie", new DBRef("movie", movieId)));
+        Document total = totals.isEmpty() ? null : totals.get(0);
+        AggregationUpdate update = ratingAggregatesUpdate(total);
+        update.set("reviewVersion").toValue(
+                ArithmeticOperators.valueOf(ConditionalOperators.ifNull("reviewVersion").then(0)).add(1));
+        return mongoTemplate.findAndModify(new Query(Criteria.where("movieId").is(movieId)), update,
+                FindAndModifyOptions.options().returnNew(true), Movie.class);
+    }
+
+    @Override
+    public long repairRatingAggregates() {
+        // Movies are read before the reviews, so a rating applied after the read
+        // changes the movie and makes its compare-and-set below miss
+        Query query = new Query(Criteria.where("deletedAt").exists(false));
+        query.fields().include("_id", "ratingSum", "ratingCount");
+        query.comment(QueryPlanRecorder.FULL_READ);
+        List<Document> movies = mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Movie.class));
+        Map<ObjectId, Document> totalsByMovie = new HashMap<>();
+        for (Document total : reviewTotals(new Document("movie", new Document("$ne", null)))) {
+            totalsByMovie.put(total.getObjectId("_id"), total);
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, Movie.class);
+        int updates = 0;
+        for (Document movie : movies) {
+            Document total = totalsByMovie.get(movie.getObjectId("_id"));
+            Number ratingSum = movie.get("ratingSum", Number.class);
+            Integer ratingCount = movie.getInteger("ratingCount");
+            if (total == null && ratingCount == null) {
+                continue;
+            }
+            double expectedSum = total != null ? total.get("ratingSum", Number.class).doubleValue() : 0;
+            int expectedCount = total != null ? total.getInteger("ratingCount") : 0;
+            if (ratingSum == null || Math.abs(ratingSum.doubleValue() - expectedSum) > 1e-9
+                    || !Integer.valueOf(expectedCount).equals(ratingCount)) {
+                bulk.updateOne(new Query(Criteria.where("_id").is(movie.getObjectId("_id"))
+                        .and("ratingSum").is(movie.get("ratingSum"))
+                        .and("ratingCount").is(ratingCount)),
+                        ratingAggregatesUpdate(total));
+                updates++;
+            }
+        }
+        return updates > 0 ? bulk.execute().getModifiedCount() : 0;
+    }
+
+    /**
+     * Sum and count of review ratings per movie id, for the reviews matching the
+     * filter.
+     */
+    private List<Document> reviewTotals(Document filter) {
+        // The movie id sits in the $id field of the review's DBRef
+        Document movieId = new Document("$getField",
+                new Document("field", new Document("$literal", "$id")).append("input", "$movie"));
+        List<Document> pipeline = List.of(
+                new Document("$match", filter),
+                new Document("$group", new Document("_id", movieId)
+                        .append("ratingSum", new Document("$sum", "$rating"))
+                        .append("ratingCount", new Document("$sum", 1))));
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Review.class)).aggregate(pipeline)
+                .into(new ArrayList<>());
+    }
+
+    private AggregationUpdate ratingAggregatesUpdate(Document total) {
+        return AggregationUpdate.from(List.of(
+                SetOperation.builder()
+                        .set("ratingSum").toValue(total != null ? total.get("ratingSum", Number.class).doubleValue() : 0.0)
+                        .and().set("ratingCount").toValue(total != null ? total.getInteger("ratingCount") : 0),
+                ratingStage()));
+    }
+
+    /**
+     * Derives rating, on the 10-point scale, and reviewCount from the running
+     * aggregates. A movie whose last review was removed keeps its listed rating.
+     */
+    private SetOperation ratingStage() {
+        return SetOperation.builder()
+                .set("rating").toValue(ConditionalOperators
+                        .when(ComparisonOperators.valueOf("ratingCount").greaterThanValue(0))
+                        .then(ArithmeticOperators.valueOf(ArithmeticOperators.valueOf("ratingSum").divideBy("ratingCount"))
+                                .multiplyBy(2))
+                        .otherwiseValueOf("rating"))
+                .and().set("reviewCount").toValueOf(Fields.field("ratingCount"));
+    }
+
+    @Override
+    public Movie incrementReviewVersion(ObjectId movieId) {
+        return mongoTemplate.findAndModify(new Query(Criteria.where("movieId").is(movieId)),
+                new Update().inc("reviewVersion", 1), FindAndModifyOptions.options().returnNew(true), Movie.class);
+    }
+
+    @Override
+    public List<Movie> findPage(String field, boolean descending, Object lastValue, ObjectId lastId, int limit) {
+        return mongoTemplate.find(pageQuery(field, descending, lastValue, lastId, limit), Movie.class);
+    }
+
+    @Override
+    public List<MovieSummary> findSummaryPage(String field, boolean descending, Object lastValue, ObjectId lastId,
+            int limit) {
+        Query query = pageQuery(field, descending, lastValue, lastId, limit);
+        query.fields().include(MovieSummary.FIELDS);
+        return mongoTemplate.find(query, MovieSummary.class, mongoTemplate.getCollectionName(Movie.class));
+    }
+
+    private Query pageQuery(String field, boolean descending, Object lastValue, ObjectId lastId, int limit) {
+        Query query = new Query(Criteria.where("deletedAt").is(null));
+        if (lastId != null) {
+            query.addCriteria(afterPosition(field, descending, lastValue, lastId));
+        }
+        Direction direction = descending ? Direction.DESC : Direction.ASC;
+        Sort sort = "_id".equals(field) ? Sort.by(direction, "_id") : Sort.by(direction, field, "_id");
+        return query.with(sort).limit(limit);
+    }
+
+    private Criteria afterPosition(String field, boolean descending, Object lastValue, ObjectId lastId) {
+        if ("_id".equals(field)) {
+            return descending ? Criteria.where("_id").lt(lastId) : Criteria.where("_id").gt(lastId);
+        }
+        Criteria sameValue = descending
+                ? Criteria.where(field).is(lastValue).and("_id").lt(lastId)
+                : Criteria.where(field).is(lastValue).and("_id").gt(lastId);
+        if (lastValue == null) {
+            // Still among the movies without the field, which sort below every value
+            return descending ? sameValue : new Criteria().orOperator(sameValue, Criteria.where(field).ne(null));
+        }
+        Criteria laterValue = descending ? Criteria.where(field).lt(lastValue) : Criteria.where(field).gt(lastValue);
+        return descending
+                ? new Criteria().orOperator(laterValue, sameValue, Criteria.where(field).is(null))
+                : new Criteria().orOperator(laterValue, sameValue);
+    }
+}
\ No newline at end of file
@@ -1,7 +1,5 @@
 package com.moviebookingapp.repository;
 
-import java.util.List;
-
 import org.bson.types.ObjectId;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
@@ -11,11 +9,7 @@ import com.moviebookingapp.model.Review;
 import com.moviebookingapp.model.User;
 
 @Repository
-public interface ReviewRepository extends MongoRepository<Review, ObjectId> {
-
-    List<Review> findByMovieOrderByCreatedDateDesc(Movie movie);
-
-    List<Review> findByUserOrderByCreatedDateDesc(User user);
+public interface ReviewRepository extends MongoRepository<Review, ObjectId>, ReviewRepositoryCustom {
 
     boolean existsByUserAndMovie(User user, Movie movie);
 
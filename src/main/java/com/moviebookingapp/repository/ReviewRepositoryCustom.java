@@ -0,0 +1,26 @@
+package com.moviebookingapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.moviebookingapp.model.Movie;
+import com.moviebookingapp.model.Review;
+import com.moviebookingapp.model.User;
+
+public interface ReviewRepositoryCustom {
+
+    /**
+     * Up to limit reviews of the movie, newest first, that come after the review
+     * with the given createdDate and id; from the newest review when lastId is
+     * null. Ties on createdDate are ordered by id, so no review is skipped or
+     * repeated between pages.
+     */
+    List<Review> findPageByMovie(Movie movie, LocalDateTime lastCreatedDate, ObjectId lastId, int limit);
+
+    /**
+     * Same as findPageByMovie, for the reviews written by a user.
+     */
+    List<Review> findPageByUser(User user, LocalDateTime lastCreatedDate, ObjectId lastId, int limit);
+}
\ No newline at end of file
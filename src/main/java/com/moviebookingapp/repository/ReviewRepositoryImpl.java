@@ -0,0 +1,44 @@
+package com.moviebookingapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.moviebookingapp.model.Movie;
+import com.moviebookingapp.model.Review;
+import com.moviebookingapp.model.User;
+
+public class ReviewRepositoryImpl implements ReviewRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Review> findPageByMovie(Movie movie, LocalDateTime lastCreatedDate, ObjectId lastId, int limit) {
+        return findPage(Criteria.where("movie").is(movie), lastCreatedDate, lastId, limit);
+    }
+
+    @Override
+    public List<Review> findPageByUser(User user, LocalDateTime lastCreatedDate, ObjectId lastId, int limit) {
+        return findPage(Criteria.where("user").is(user), lastCreatedDate, lastId, limit);
+    }
+
+    private List<Review> findPage(Criteria owner, LocalDateTime lastCreatedDate, ObjectId lastId, int limit) {
+        Query query = new Query(owner);
+        if (lastId != null) {
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("createdDate").lt(lastCreatedDate),
+                    Criteria.where("createdDate").is(lastCreatedDate).and("_id").lt(lastId)));
+        }
+        // Walks the (owner, createdDate, _id) index in order, so a page reads only its own reviews
+        return mongoTemplate.find(query.with(Sort.by(Direction.DESC, "createdDate", "_id")).limit(limit),
+                Review.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.moviebookingapp.repository;
+
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.moviebookingapp.model.Showtime;
+
+@Repository
+public interface ShowtimeRepository extends MongoRepository<Showtime, ObjectId>, ShowtimeRepositoryCustom {
+
+    List<Showtime> findByMovieNameAndTheatreName(String movieName, String theatreName);
+
+    List<Showtime> findByMovieId(ObjectId movieId);
+
+    List<Showtime> findByMovieName(String movieName);
+
+    void deleteByMovieName(String movieName);
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.moviebookingapp.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.moviebookingapp.model.ShowKey;
+import com.moviebookingapp.model.Showtime;
+import com.moviebookingapp.model.Ticket;
+
+public interface ShowtimeRepositoryCustom {
+
+    /**
+     * Atomically takes noOfTickets from the show's ticketsAvailable, but only if at
+     * least that many are left. Returns the updated showtime, or null when the
+     * show does not exist or does not have enough tickets.
+     */
+    Showtime decrementTicketsAvailable(String movieName, String theatreName, int noOfTickets);
+
+    Showtime incrementTicketsAvailable(String movieName, String theatreName, int noOfTickets);
+
+    /**
+     * Loads the showtimes of the given shows with a single query.
+     */
+    List<Showtime> findShows(Collection<ShowKey> shows);
+
+    /**
+     * Takes tickets from several shows, all or nothing. Each show is decremented
+     * with the same guard as a single booking; if one show no longer has enough
+     * tickets, the shows already decremented get their tickets back and null is
+     * returned. Otherwise returns the updated showtimes.
+     */
+    List<Showtime> decrementTicketsAvailable(Map<ShowKey, Integer> ticketsByShow);
+
+    /**
+     * Adds the given delta to each show's ticketsAvailable in one bulk write,
+     * without any guard.
+     */
+    void adjustTicketsAvailable(Map<ShowKey, Integer> deltaByShow);
+
+    /**
+     * Takes each ticket's count from its showtime, once per ticket: a ticket
+     * already listed in the showtime's countedTickets is skipped, so a redelivered
+     * ticket is not counted twice.
+     */
+    void takeTicketsOnce(List<Ticket> tickets);
+
+    /**
+     * Drops the given tickets from countedTickets once they are marked as counted
+     * on the tickets themselves.
+     */
+    void forgetCountedTickets(List<Ticket> tickets);
+
+    /**
+     * Re-derives ticketStatus from ticketsAvailable for the showtimes of the
+     * given movie with one update, without rewriting any other field.
+     */
+    long refreshTicketStatus(String movieName);
+}
\ No newline at end of file
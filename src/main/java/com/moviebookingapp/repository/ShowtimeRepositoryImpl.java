@@ -0,0 +1,159 @@
+package com.moviebookingapp.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators.Switch.CaseOperator;
+import org.springframework.data.mongodb.core.aggregation.SetOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.moviebookingapp.model.ShowKey;
+import com.moviebookingapp.model.Showtime;
+import com.moviebookingapp.model.Ticket;
+import com.moviebookingapp.model.TicketStatus;
+
+public class ShowtimeRepositoryImpl implements ShowtimeRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${reelcritic.booking.low-stock-threshold:20}")
+    private int lowStockThreshold;
+
+    @Override
+    public Showtime decrementTicketsAvailable(String movieName, String theatreName, int noOfTickets) {
+        Query query = new Query(Criteria.where("movieName").is(movieName)
+                .and("theatreName").is(theatreName)
+                .and("ticketsAvailable").gte(noOfTickets));
+        return mongoTemplate.findAndModify(query, ticketsAvailableUpdate(-noOfTickets),
+                FindAndModifyOptions.options().returnNew(true), Showtime.class);
+    }
+
+    @Override
+    public Showtime incrementTicketsAvailable(String movieName, String theatreName, int noOfTickets) {
+        Query query = new Query(Criteria.where("movieName").is(movieName).and("theatreName").is(theatreName));
+        return mongoTemplate.findAndModify(query, ticketsAvailableUpdate(noOfTickets),
+                FindAndModifyOptions.options().returnNew(true), Showtime.class);
+    }
+
+    @Override
+    public List<Showtime> findShows(Collection<ShowKey> shows) {
+        List<Criteria> showCriteria = new ArrayList<>();
+        for (ShowKey show : shows) {
+            showCriteria.add(showCriteria(show));
+        }
+        return mongoTemplate.find(new Query(new Criteria().orOperator(showCriteria)), Showtime.class);
+    }
+
+    @Override
+    public List<Showtime> decrementTicketsAvailable(Map<ShowKey, Integer> ticketsByShow) {
+        // A bulk write only reports how many updates matched, not which, so each
+        // show is decremented on its own and the ones taken so far are tracked
+        List<Showtime> showtimes = new ArrayList<>();
+        Map<ShowKey, Integer> taken = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<ShowKey, Integer> entry : ticketsByShow.entrySet()) {
+                ShowKey show = entry.getKey();
+                Showtime showtime = decrementTicketsAvailable(show.movieName(), show.theatreName(), entry.getValue());
+                if (showtime == null) {
+                    if (!taken.isEmpty()) {
+                        adjustTicketsAvailable(taken);
+                    }
+                    return null;
+                }
+                taken.put(show, entry.getValue());
+                showtimes.add(showtime);
+            }
+        } catch (RuntimeException e) {
+            if (!taken.isEmpty()) {
+                adjustTicketsAvailable(taken);
+            }
+            throw e;
+        }
+        return showtimes;
+    }
+
+    @Override
+    public void adjustTicketsAvailable(Map<ShowKey, Integer> deltaByShow) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.ORDERED, Showtime.class);
+        deltaByShow.forEach((show, delta) -> bulk.updateOne(new Query(showCriteria(show)),
+                ticketsAvailableUpdate(delta)));
+        bulk.execute();
+    }
+
+    @Override
+    public void takeTicketsOnce(List<Ticket> tickets) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, Showtime.class);
+        for (Ticket ticket : tickets) {
+            Query query = new Query(showCriteria(new ShowKey(ticket.getMovieName(), ticket.getTheatreName()))
+                    .and("countedTickets").ne(ticket.getTicketId()));
+            bulk.updateOne(query, AggregationUpdate.from(List.of(
+                    SetOperation.builder()
+                            .set("ticketsAvailable").toValue(
+                                    ArithmeticOperators.valueOf("ticketsAvailable").add(-ticket.getNoOfTickets()))
+                            .and().set("countedTickets").toValue(ArrayOperators.arrayOf(List.of(ticket.getTicketId()))
+                                    .concat(ConditionalOperators.ifNull("countedTickets").then(List.of()))),
+                    ticketStatusStage())));
+        }
+        bulk.execute();
+    }
+
+    @Override
+    public void forgetCountedTickets(List<Ticket> tickets) {
+        Map<ShowKey, List<ObjectId>> ticketIdsByShow = new LinkedHashMap<>();
+        for (Ticket ticket : tickets) {
+            ticketIdsByShow.computeIfAbsent(new ShowKey(ticket.getMovieName(), ticket.getTheatreName()),
+                    show -> new ArrayList<>()).add(ticket.getTicketId());
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, Showtime.class);
+        ticketIdsByShow.forEach((show, ticketIds) -> bulk.updateOne(new Query(showCriteria(show)),
+                new Update().pullAll("countedTickets", ticketIds.toArray())));
+        bulk.execute();
+    }
+
+    @Override
+    public long refreshTicketStatus(String movieName) {
+        return mongoTemplate.updateMulti(new Query(Criteria.where("movieName").is(movieName)),
+                AggregationUpdate.from(List.of(ticketStatusStage())), Showtime.class).getModifiedCount();
+    }
+
+    /**
+     * Adds delta to ticketsAvailable and derives ticketStatus from the new count in
+     * the same pipeline update, so the status can never lag behind the count.
+     */
+    private AggregationUpdate ticketsAvailableUpdate(int delta) {
+        return AggregationUpdate.from(List.of(
+                SetOperation.set("ticketsAvailable").toValue(ArithmeticOperators.valueOf("ticketsAvailable").add(delta)),
+                ticketStatusStage()));
+    }
+
+    private SetOperation ticketStatusStage() {
+        return SetOperation.set("ticketStatus").toValue(ConditionalOperators.switchCases(
+                CaseOperator.when(ComparisonOperators.valueOf("ticketsAvailable").lessThanEqualToValue(0))
+                        .then(TicketStatus.SOLD_OUT),
+                CaseOperator.when(ComparisonOperators.valueOf("ticketsAvailable")
+                        .lessThanEqualToValue(lowStockThreshold)).then(TicketStatus.FILLING_FAST))
+                .defaultTo(TicketStatus.BOOK_ASAP));
+    }
+
+    private Criteria showCriteria(ShowKey show) {
+        return Criteria.where("movieName").is(show.movieName()).and("theatreName").is(show.theatreName());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.moviebookingapp.repository;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertCallback;
+import org.springframework.stereotype.Component;
+
+import com.moviebookingapp.model.Ticket;
+
+/**
+ * Reads tickets stored before seats were encoded, which only carry the
+ * seatNumber label array, until {@code TicketSeatMigrationService} has rewritten
+ * them. Labels that cannot be encoded are kept as they are.
+ */
+@Component
+public class TicketAfterConvertCallback implements AfterConvertCallback<Ticket> {
+
+    @Override
+    public Ticket onAfterConvert(Ticket ticket, Document document, String collection) {
+        if (ticket.getSeats() == null && document.get("seatNumber") instanceof List<?> labels) {
+            List<String> seatNumber = labels.stream().map(String::valueOf).toList();
+            try {
+                ticket.setSeatNumber(seatNumber);
+            } catch (IllegalArgumentException e) {
+                // Such a ticket still reads, it just takes no part in seat checks
+                System.err.println("⚠️  Warning: Could not encode the seats of ticket " + ticket.getTicketId() + ".");
+                System.err.println("Error: " + e.getMessage());
+                ticket.setUnencodedSeatNumber(seatNumber);
+            }
+        }
+        return ticket;
+    }
+}
\ No newline at end of file
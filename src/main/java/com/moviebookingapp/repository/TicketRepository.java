@@ -10,9 +10,9 @@ import org.springframework.stereotype.Repository;
 import com.moviebookingapp.model.Ticket;
 
 @Repository
-public interface TicketRepository extends MongoRepository<Ticket, ObjectId> {
+public interface TicketRepository extends MongoRepository<Ticket, ObjectId>, TicketRepositoryCustom {
 
-    @Query(value = "{'movieName': ?0, 'theatreName': ?1}", fields = "{_id:0, seatNumber:1}")
+    @Query(value = "{'movieName': ?0, 'theatreName': ?1}", fields = "{_id:0, seats:1, seatNumber:1}")
     List<Ticket> findSeats(String movieName, String theatreName);
 
     List<Ticket> findByMovieName(String movieName);
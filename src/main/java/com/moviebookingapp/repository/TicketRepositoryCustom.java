@@ -0,0 +1,26 @@
+package com.moviebookingapp.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+
+import com.moviebookingapp.model.Ticket;
+
+public interface TicketRepositoryCustom {
+
+    /**
+     * Inserts the tickets in one unordered bulk write, skipping tickets whose id
+     * is already stored. Tickets whose seats are already booked are skipped too,
+     * with a warning. Returns the tickets that were actually inserted.
+     */
+    List<Ticket> insertIgnoringDuplicates(List<Ticket> tickets);
+
+    /**
+     * The tickets among the given ids whose count has not been taken from their
+     * showtime yet.
+     */
+    List<Ticket> findCountPending(Collection<ObjectId> ticketIds);
+
+    void clearCountPending(Collection<ObjectId> ticketIds);
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.moviebookingapp.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.moviebookingapp.model.Ticket;
+
+public class TicketRepositoryImpl implements TicketRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Ticket> insertIgnoringDuplicates(List<Ticket> tickets) {
+        try {
+            mongoTemplate.bulkOps(BulkMode.UNORDERED, Ticket.class).insert(tickets).execute();
+            return tickets;
+        } catch (BulkOperationException e) {
+            Set<Integer> duplicates = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw e;
+                }
+                // A redelivered ticket repeats its id; a seat clash means another node sold the seat
+                if (error.getMessage() != null && error.getMessage().contains(Ticket.SEATS_INDEX)) {
+                    Ticket ticket = tickets.get(error.getIndex());
+                    System.err.println("⚠️  Warning: Ticket " + ticket.getTicketId() + " for "
+                            + ticket.getMovieName() + " was not stored, one of its seats is already booked.");
+                }
+                duplicates.add(error.getIndex());
+            }
+            List<Ticket> inserted = new ArrayList<>();
+            for (int i = 0; i < tickets.size(); i++) {
+                if (!duplicates.contains(i)) {
+                    inserted.add(tickets.get(i));
+                }
+            }
+            return inserted;
+        }
+    }
+
+    @Override
+    public List<Ticket> findCountPending(Collection<ObjectId> ticketIds) {
+        return mongoTemplate.find(new Query(Criteria.where("_id").in(ticketIds).and("countPending").is(true)),
+                Ticket.class);
+    }
+
+    @Override
+    public void clearCountPending(Collection<ObjectId> ticketIds) {
+        mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(ticketIds)), new Update().unset("countPending"),
+                Ticket.class);
+    }
+}
\ No newline at end of file
@@ -97,16 +97,20 @@ public class WebSecurityConfig {
                         .requestMatchers("/api/v1.0/moviebooking/register").permitAll()
                         .requestMatchers("/api/v1.0/moviebooking/all").permitAll()
                         .requestMatchers("/api/v1.0/moviebooking/movies/search/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1.0/moviebooking/movies/*").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1.0/moviebooking/movies/*/showtimes").permitAll()
 
                         // Review endpoints - GET requests are public, POST requires auth
                         .requestMatchers(HttpMethod.GET, "/api/v1.0/moviebooking/movies/*/reviews").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1.0/moviebooking/users/*/reviews").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1.0/moviebooking/theatres/*/layout").permitAll()
                         .requestMatchers(HttpMethod.PUT, "/api/v1.0/moviebooking/reviews/*/helpful").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1.0/moviebooking/movies/*/reviews").authenticated()
 
                         // Other public endpoints
                         .requestMatchers("/").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers("/actuator/health/**", "/actuator/info").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/swagger-ui/**").permitAll()
                         .requestMatchers("/v3/api-docs/**").permitAll()
                         .requestMatchers("/swagger-ui.html").permitAll()
@@ -0,0 +1,143 @@
+package com.moviebookingapp.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
+
+import com.moviebookingapp.model.Movie;
+
+/**
+ * Immutable typeahead index over movie names. Every name is entered into a trie
+ * at the start of each of its words, so "par" suggests "Dune: Part Two", and
+ * every trie node keeps the most popular names below it, worked out once when
+ * the index is built. A lookup is a walk down the prefix and no sorting.
+ */
+public final class AutocompleteIndex {
+
+    public static final int TOP_K = 10;
+
+    // Most reviewed first, then best rated
+    private static final Comparator<Suggestion> BY_POPULARITY = Comparator
+            .comparingInt(Suggestion::reviewCount).reversed()
+            .thenComparing(Comparator.comparingDouble(Suggestion::rating).reversed())
+            .thenComparing(Suggestion::name);
+
+    private final Node root = new Node();
+    private final ObjectId[] ids;
+    private final Suggestion[] suggestions;
+
+    public AutocompleteIndex(Map<ObjectId, Movie> moviesById) {
+        ids = new ObjectId[moviesById.size()];
+        suggestions = new Suggestion[moviesById.size()];
+        // The same movie is listed once per theatre; suggest each name once
+        Map<String, Suggestion> byName = new HashMap<>();
+        int ordinal = 0;
+        for (Movie movie : moviesById.values()) {
+            Suggestion suggestion = Suggestion.of(movie);
+            ids[ordinal] = movie.getMovieId();
+            suggestions[ordinal++] = suggestion;
+            if (suggestion.name() != null) {
+                byName.merge(MovieNameIndex.normalize(suggestion.name()), suggestion,
+                        (a, b) -> BY_POPULARITY.compare(a, b) <= 0 ? a : b);
+            }
+        }
+        byName.forEach((key, suggestion) -> {
+            for (int i = 0; i < key.length(); i++) {
+                if (isWordStart(key, i)) {
+                    root.insert(key, i, suggestion);
+                }
+            }
+        });
+        root.computeTop();
+    }
+
+    public boolean covers(Map<ObjectId, Movie> moviesById) {
+        if (moviesById.size() != ids.length) {
+            return false;
+        }
+        Iterator<Movie> movies = moviesById.values().iterator();
+        for (int ordinal = 0; ordinal < ids.length; ordinal++) {
+            Movie movie = movies.next();
+            if (!ids[ordinal].equals(movie.getMovieId()) || !suggestions[ordinal].equals(Suggestion.of(movie))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Up to limit names with a word starting with prefix, most popular first.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String key = MovieNameIndex.normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        return node.top.subList(0, Math.min(limit, node.top.size()));
+    }
+
+    private static boolean isWordStart(String key, int i) {
+        return Character.isLetterOrDigit(key.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(key.charAt(i - 1)));
+    }
+
+    private record Suggestion(String name, int reviewCount, double rating) {
+
+        static Suggestion of(Movie movie) {
+            return new Suggestion(movie.getMovieName(), movie.getReviewCount() != null ? movie.getReviewCount() : 0,
+                    movie.getRating() != null ? movie.getRating() : 0);
+        }
+    }
+
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final List<Suggestion> ending = new ArrayList<>(1);
+        private List<String> top = List.of();
+        private List<Suggestion> topSuggestions = List.of();
+
+        void insert(String key, int from, Suggestion suggestion) {
+            Node node = this;
+            for (int i = from; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            }
+            node.ending.add(suggestion);
+        }
+
+        /**
+         * Fills in the best TOP_K of this node's subtree from its own names and its
+         * children's already computed lists.
+         */
+        void computeTop() {
+            List<Suggestion> candidates = new ArrayList<>(ending);
+            for (Node child : children.values()) {
+                child.computeTop();
+                candidates.addAll(child.topSuggestions);
+            }
+            candidates.sort(BY_POPULARITY);
+            // A name can reach this node through more than one of its words
+            Set<Suggestion> best = new LinkedHashSet<>();
+            for (Suggestion candidate : candidates) {
+                if (best.size() == TOP_K) {
+                    break;
+                }
+                best.add(candidate);
+            }
+            topSuggestions = List.copyOf(best);
+            top = topSuggestions.stream().map(Suggestion::name).toList();
+        }
+    }
+}
\ No newline at end of file
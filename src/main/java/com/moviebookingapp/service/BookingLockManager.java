@@ -0,0 +1,105 @@
+package com.moviebookingapp.service;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.moviebookingapp.model.ShowKey;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Serializes bookings of the same show while letting different shows book in
+ * parallel. Shows are hashed onto a fixed number of lock stripes, so memory use
+ * does not grow with the number of shows.
+ *
+ * The locks are per process and give no exclusion between nodes. Across nodes
+ * the database is the guard: the guarded ticket count decrement on the
+ * showtime and the unique seat index on the ticket collection.
+ */
+@Service
+public class BookingLockManager {
+
+    @Value("${reelcritic.booking.lock-stripes:64}")
+    private int stripeCount;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ReentrantLock[] locks;
+    private Timer[] waitTimers;
+
+    @PostConstruct
+    void initStripes() {
+        locks = new ReentrantLock[stripeCount];
+        waitTimers = new Timer[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            ReentrantLock lock = new ReentrantLock();
+            String stripe = String.valueOf(i);
+            locks[i] = lock;
+            waitTimers[i] = Timer.builder("booking.lock.wait")
+                    .description("Time spent waiting for a show's booking lock")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+            Gauge.builder("booking.lock.queue", lock, ReentrantLock::getQueueLength)
+                    .description("Threads waiting for a booking lock stripe")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+        }
+    }
+
+    public <T> T withLock(ShowKey show, Supplier<T> action) {
+        int stripe = stripeOf(show);
+        ReentrantLock lock = locks[stripe];
+        long waitStart = System.nanoTime();
+        lock.lock();
+        try {
+            waitTimers[stripe].record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the action holding the locks of all the given shows. Stripes are always
+     * taken in ascending order so that overlapping multi-show bookings cannot
+     * deadlock each other.
+     */
+    public <T> T withLocks(Collection<ShowKey> shows, Supplier<T> action) {
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (ShowKey show : shows) {
+            stripes.add(stripeOf(show));
+        }
+        Deque<Integer> acquired = new ArrayDeque<>();
+        try {
+            for (int stripe : stripes) {
+                long waitStart = System.nanoTime();
+                locks[stripe].lock();
+                acquired.push(stripe);
+                waitTimers[stripe].record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+            }
+            return action.get();
+        } finally {
+            while (!acquired.isEmpty()) {
+                locks[acquired.pop()].unlock();
+            }
+        }
+    }
+
+    int stripeOf(ShowKey show) {
+        int hash = show.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), stripeCount);
+    }
+}
\ No newline at end of file
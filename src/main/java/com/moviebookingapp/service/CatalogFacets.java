@@ -0,0 +1,152 @@
+package com.moviebookingapp.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.bson.types.ObjectId;
+
+import com.moviebookingapp.model.Movie;
+
+/**
+ * Immutable facet index over the catalog. Every facet value maps to a bitset of
+ * the catalog ordinals (positions in CatalogSnapshot.movies()) that have it, so
+ * a filter is an OR of bitsets within each facet and an AND across facets.
+ * Genre and language are comma-separated lists and are split into one value per
+ * item. Values are matched ignoring case.
+ */
+public final class CatalogFacets {
+
+    public static final String GENRE = "genre";
+    public static final String LANGUAGE = "language";
+    public static final String CERTIFICATE = "certificate";
+    public static final String STATUS = "status";
+
+    private static final Map<String, Function<Movie, List<String>>> FACETS = new LinkedHashMap<>();
+
+    static {
+        FACETS.put(GENRE, movie -> split(movie.getGenre()));
+        FACETS.put(LANGUAGE, movie -> split(movie.getLanguage()));
+        FACETS.put(CERTIFICATE, movie -> single(movie.getCertificate()));
+        FACETS.put(STATUS, movie -> single(movie.getStatus()));
+    }
+
+    private final int size;
+    private final ObjectId[] ids;
+    // Facet values of each ordinal, to tell whether a later catalog can reuse this index
+    private final List<List<String>> valuesByOrdinal;
+    // facet -> lower-cased value -> ordinals
+    private final Map<String, Map<String, BitSet>> bits = new HashMap<>();
+    // facet -> lower-cased value -> value as first seen
+    private final Map<String, Map<String, String>> labels = new HashMap<>();
+
+    public CatalogFacets(Map<ObjectId, Movie> moviesById) {
+        size = moviesById.size();
+        ids = new ObjectId[size];
+        valuesByOrdinal = new ArrayList<>(size);
+        FACETS.keySet().forEach(facet -> {
+            bits.put(facet, new HashMap<>());
+            labels.put(facet, new HashMap<>());
+        });
+        int ordinal = 0;
+        for (Movie movie : moviesById.values()) {
+            ids[ordinal] = movie.getMovieId();
+            List<String> values = new ArrayList<>();
+            for (Map.Entry<String, Function<Movie, List<String>>> facet : FACETS.entrySet()) {
+                for (String value : facet.getValue().apply(movie)) {
+                    String key = value.toLowerCase(Locale.ROOT);
+                    bits.get(facet.getKey()).computeIfAbsent(key, k -> new BitSet(size)).set(ordinal);
+                    labels.get(facet.getKey()).putIfAbsent(key, value);
+                    values.add(facet.getKey() + "=" + value);
+                }
+            }
+            valuesByOrdinal.add(values);
+            ordinal++;
+        }
+    }
+
+    public boolean covers(Map<ObjectId, Movie> moviesById) {
+        if (moviesById.size() != size) {
+            return false;
+        }
+        Iterator<Movie> movies = moviesById.values().iterator();
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            Movie movie = movies.next();
+            List<String> values = new ArrayList<>();
+            FACETS.forEach((facet, extractor) -> extractor.apply(movie)
+                    .forEach(value -> values.add(facet + "=" + value)));
+            if (!ids[ordinal].equals(movie.getMovieId()) || !valuesByOrdinal.get(ordinal).equals(values)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ordinals of the movies that have at least one of the selected values of every
+     * facet in the selection. Facets without selected values do not filter.
+     */
+    public BitSet filter(Map<String, List<String>> selected) {
+        return filterExcept(selected, null);
+    }
+
+    /**
+     * Number of matching movies per value of every facet. Each facet is counted
+     * against the other facets' filters only, so the counts show how many results
+     * selecting one more value of that facet would add.
+     */
+    public Map<String, Map<String, Integer>> counts(Map<String, List<String>> selected) {
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        for (String facet : FACETS.keySet()) {
+            BitSet others = filterExcept(selected, facet);
+            Map<String, Integer> facetCounts = new TreeMap<>();
+            bits.get(facet).forEach((key, ordinals) -> {
+                BitSet matching = (BitSet) ordinals.clone();
+                matching.and(others);
+                if (!matching.isEmpty()) {
+                    facetCounts.put(labels.get(facet).get(key), matching.cardinality());
+                }
+            });
+            counts.put(facet, facetCounts);
+        }
+        return counts;
+    }
+
+    private BitSet filterExcept(Map<String, List<String>> selected, String skippedFacet) {
+        BitSet result = new BitSet(size);
+        result.set(0, size);
+        selected.forEach((facet, values) -> {
+            if (facet.equals(skippedFacet) || values == null || values.isEmpty() || !bits.containsKey(facet)) {
+                return;
+            }
+            BitSet anyValue = new BitSet(size);
+            for (String value : values) {
+                BitSet ordinals = bits.get(facet).get(value.trim().toLowerCase(Locale.ROOT));
+                if (ordinals != null) {
+                    anyValue.or(ordinals);
+                }
+            }
+            result.and(anyValue);
+        });
+        return result;
+    }
+
+    private static List<String> split(String values) {
+        if (values == null) {
+            return List.of();
+        }
+        return Arrays.stream(values.split(",")).map(String::trim).filter(value -> !value.isEmpty()).toList();
+    }
+
+    private static List<String> single(String value) {
+        return value == null || value.isBlank() ? List.of() : List.of(value.trim());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.moviebookingapp.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Keeps catalog responses as ready-to-send JSON bytes, plus a gzipped copy, so
+ * a repeated request costs neither Jackson nor compression. Entries belong to a
+ * catalog snapshot version; the first request for a newer version drops them
+ * all, and the least recently used entries are evicted beyond the size limit.
+ */
+@Service
+public class CatalogResponseCache {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${reelcritic.http.response-cache-entries:256}")
+    private int maxEntries;
+
+    @Value("${reelcritic.http.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    // Guarded by this
+    private Map<String, CachedBody> bodies;
+    private long cachedVersion = -1;
+
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        bodies = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedBody> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        hits = Counter.builder("catalog.response.cache")
+                .description("Catalog responses served from pre-serialized bytes")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        misses = Counter.builder("catalog.response.cache")
+                .description("Catalog responses that had to be serialized")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached body for key at this catalog version, serializing and
+     * compressing the supplied body on a miss.
+     */
+    public CachedBody get(String key, long version, Supplier<?> body) {
+        synchronized (this) {
+            if (version > cachedVersion) {
+                bodies.clear();
+                cachedVersion = version;
+            }
+            CachedBody cached = bodies.get(key);
+            if (cached != null && cached.version() == version) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        CachedBody built = serialize(version, body.get());
+        synchronized (this) {
+            if (version == cachedVersion) {
+                bodies.put(key, built);
+            }
+        }
+        return built;
+    }
+
+    private CachedBody serialize(long version, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new CachedBody(version, json, json.length >= gzipMinBytes ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog response", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * A serialized response; gzip is null when the body is too small to be worth
+     * compressing.
+     */
+    public record CachedBody(long version, byte[] json, byte[] gzip) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.moviebookingapp.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+
+import com.moviebookingapp.model.Movie;
+import com.moviebookingapp.model.MovieSummary;
+
+/**
+ * An immutable copy of the movie catalog. Every change produces a new snapshot
+ * with a higher version; builtAt is when the catalog was last read in full from
+ * MongoDB. The movies are shared between readers and must not be modified.
+ */
+public record CatalogSnapshot(long version, long builtAt, Map<ObjectId, Movie> moviesById, List<Movie> movies,
+        List<MovieSummary> summaries, MovieNameIndex nameIndex, CatalogFacets facets,
+        AutocompleteIndex autocomplete) {
+
+    /**
+     * The indexes of the previous snapshot are reused when no movie was added,
+     * removed or had the indexed fields changed, which is the case for bookings.
+     */
+    CatalogSnapshot(long version, long builtAt, Map<ObjectId, Movie> moviesById, CatalogSnapshot previous) {
+        this(version, builtAt, Collections.unmodifiableMap(moviesById), List.copyOf(moviesById.values()),
+                moviesById.values().stream().map(MovieSummary::of).toList(),
+                previous != null && previous.nameIndex().covers(moviesById) ? previous.nameIndex()
+                        : new MovieNameIndex(moviesById),
+                previous != null && previous.facets().covers(moviesById) ? previous.facets()
+                        : new CatalogFacets(moviesById),
+                previous != null && previous.autocomplete().covers(moviesById) ? previous.autocomplete()
+                        : new AutocompleteIndex(moviesById));
+    }
+
+    /**
+     * The same catalog, with the same version, marked as read in full at builtAt.
+     */
+    CatalogSnapshot refreshedAt(long builtAt) {
+        return new CatalogSnapshot(version, builtAt, moviesById, movies, summaries, nameIndex, facets, autocomplete);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,314 @@
+package com.moviebookingapp.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.moviebookingapp.model.Movie;
+import com.moviebookingapp.model.MovieSummary;
+import com.moviebookingapp.repository.MovieRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Serves catalog reads from an in-memory snapshot held in an atomic reference,
+ * so /all and search never take a lock. Writes made on this node are applied to
+ * the snapshot as they happen; writes made elsewhere are picked up by a periodic
+ * full rebuild, and a snapshot older than the staleness bound is rebuilt before
+ * it is served. While MongoDB is unreachable the last good snapshot is served
+ * instead, from memory or from the copy written to disk.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    @Value("${reelcritic.catalog.max-staleness-ms:60000}")
+    private long maxStalenessMillis;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MongoCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private CatalogSnapshotStore snapshotStore;
+
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final Object writeLock = new Object();
+
+    // Changes made while a rebuild is reading MongoDB, replayed onto its result
+    private List<Consumer<Map<ObjectId, Movie>>> pendingChanges;
+
+    // Last snapshot written to or read from disk, only used by persist()
+    private CatalogSnapshot persisted;
+
+    private Counter hits;
+    private Counter misses;
+    private Counter fallbacks;
+    private Counter staleReads;
+    private Timer rebuildTimer;
+
+    @PostConstruct
+    void initMetrics() {
+        hits = Counter.builder("catalog.snapshot.reads")
+                .description("Catalog reads served from the snapshot")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        misses = Counter.builder("catalog.snapshot.reads")
+                .description("Catalog reads that had to rebuild the snapshot first")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        fallbacks = Counter.builder("catalog.snapshot.reads")
+                .description("Catalog reads served from the last good snapshot while MongoDB was unreachable")
+                .tag("result", "fallback")
+                .register(meterRegistry);
+        staleReads = Counter.builder("catalog.snapshot.reads")
+                .description("Catalog reads served the stale snapshot while another read rebuilt it")
+                .tag("result", "stale")
+                .register(meterRegistry);
+        rebuildTimer = Timer.builder("catalog.snapshot.rebuild")
+                .description("Time taken to reload the catalog snapshot from MongoDB")
+                .register(meterRegistry);
+        Gauge.builder("catalog.snapshot.version", snapshot, ref -> ref.get() != null ? ref.get().version() : 0)
+                .description("Version of the current catalog snapshot")
+                .register(meterRegistry);
+        Gauge.builder("catalog.snapshot.size", snapshot, ref -> ref.get() != null ? ref.get().movies().size() : 0)
+                .description("Movies in the current catalog snapshot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns a snapshot no older than the staleness bound, rebuilding it first if
+     * needed. If MongoDB cannot be reached the last good snapshot is returned
+     * instead; only when there is none at all does this throw.
+     *
+     * One reader rebuilds a stale snapshot while the others keep getting the
+     * stale one, so a slow or unreachable MongoDB never queues readers behind
+     * the rebuild. Readers only wait when there is no snapshot at all.
+     */
+    public CatalogSnapshot getSnapshot() {
+        CatalogSnapshot current = snapshot.get();
+        if (isFresh(current)) {
+            hits.increment();
+            return current;
+        }
+        if (current != null && !circuitBreaker.isClosed()) {
+            // The scheduled refresh finds out when MongoDB is back
+            fallbacks.increment();
+            return current;
+        }
+        if (current == null) {
+            rebuildLock.lock();
+        } else if (!rebuildLock.tryLock()) {
+            staleReads.increment();
+            return current;
+        }
+        misses.increment();
+        try {
+            // Another reader may have rebuilt it while this one waited
+            current = snapshot.get();
+            if (isFresh(current)) {
+                return current;
+            }
+            try {
+                return rebuild();
+            } catch (RuntimeException e) {
+                return lastKnownGood(e);
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public List<Movie> getAllMovies() {
+        return getSnapshot().movies();
+    }
+
+    public List<MovieSummary> getAllMovieSummaries() {
+        return getSnapshot().summaries();
+    }
+
+    /**
+     * Movies whose name contains movieName, ignoring case and accents, with names
+     * that start with it first. The query is matched literally, not as a regex.
+     */
+    public List<Movie> findByMovieName(String movieName) {
+        CatalogSnapshot current = getSnapshot();
+        List<Movie> matches = new ArrayList<>();
+        for (ObjectId movieId : current.nameIndex().search(movieName)) {
+            matches.add(current.moviesById().get(movieId));
+        }
+        return matches;
+    }
+
+    /**
+     * The movie document that holds the reviews of a title: among the movies
+     * named exactly movieName, ignoring case, the one with the lowest id. Every
+     * theatre has its own document, so reviews are saved to and listed from this
+     * one. Returns null if there is no such movie.
+     */
+    public Movie findReviewedMovie(String movieName) {
+        Movie reviewed = null;
+        for (Movie movie : findByMovieName(movieName)) {
+            if (movie.getMovieName().equalsIgnoreCase(movieName)
+                    && (reviewed == null || movie.getMovieId().compareTo(reviewed.getMovieId()) < 0)) {
+                reviewed = movie;
+            }
+        }
+        return reviewed;
+    }
+
+    public void upsert(Movie movie) {
+        if (movie == null || movie.getMovieId() == null) {
+            return;
+        }
+        if (movie.getDeletedAt() != null) {
+            // A write that raced with the delete must not bring the movie back
+            apply(movies -> movies.remove(movie.getMovieId()));
+            return;
+        }
+        apply(movies -> movies.put(movie.getMovieId(), movie));
+    }
+
+    public void removeByMovieName(String movieName) {
+        apply(movies -> movies.values().removeIf(movie -> movieName.equals(movie.getMovieName())));
+    }
+
+    @Scheduled(fixedDelayString = "${reelcritic.catalog.refresh-ms:30000}",
+            initialDelayString = "${reelcritic.catalog.refresh-ms:30000}")
+    void refresh() {
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Keep serving the current snapshot until MongoDB is reachable again
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reelcritic.catalog.snapshot-write-ms:60000}",
+            initialDelayString = "${reelcritic.catalog.snapshot-write-ms:60000}")
+    void persist() {
+        CatalogSnapshot current = snapshot.get();
+        // A refresh that found no change keeps the movies map, so there is nothing new to write
+        if (current == null || persisted != null && current.moviesById() == persisted.moviesById()) {
+            return;
+        }
+        try {
+            snapshotStore.write(current);
+            persisted = current;
+        } catch (IOException e) {
+            System.err.println("⚠️  Warning: Could not write the catalog snapshot to disk.");
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+
+    // Called with rebuildLock held
+    private CatalogSnapshot lastKnownGood(RuntimeException failure) {
+        CatalogSnapshot current = snapshot.get();
+        if (current == null) {
+            CatalogSnapshot stored = snapshotStore.read();
+            if (stored == null) {
+                throw failure;
+            }
+            synchronized (writeLock) {
+                current = snapshot.get();
+                if (current == null) {
+                    System.err.println("⚠️  MongoDB unreachable, serving the catalog stored on disk ("
+                            + stored.movies().size() + " movies)");
+                    persisted = stored;
+                    snapshot.set(stored);
+                    current = stored;
+                }
+            }
+        }
+        fallbacks.increment();
+        return current;
+    }
+
+    private boolean isFresh(CatalogSnapshot current) {
+        return current != null && System.currentTimeMillis() - current.builtAt() <= maxStalenessMillis;
+    }
+
+    private void apply(Consumer<Map<ObjectId, Movie>> change) {
+        synchronized (writeLock) {
+            CatalogSnapshot current = snapshot.get();
+            if (current != null) {
+                Map<ObjectId, Movie> movies = new LinkedHashMap<>(current.moviesById());
+                change.accept(movies);
+                snapshot.set(new CatalogSnapshot(current.version() + 1, current.builtAt(), movies, current));
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        }
+    }
+
+    /**
+     * Puts the current snapshot's instance in place of every reloaded movie that is
+     * equal to it, so unchanged movies keep their identity across rebuilds.
+     * Returns whether the reloaded catalog is the same as the current one.
+     */
+    private boolean keepUnchanged(CatalogSnapshot current, Map<ObjectId, Movie> movies) {
+        boolean unchanged = movies.size() == current.moviesById().size();
+        for (Map.Entry<ObjectId, Movie> entry : movies.entrySet()) {
+            Movie previous = current.moviesById().get(entry.getKey());
+            if (entry.getValue().equals(previous)) {
+                entry.setValue(previous);
+            } else {
+                unchanged = false;
+            }
+        }
+        return unchanged;
+    }
+
+    // Called with rebuildLock held
+    private CatalogSnapshot rebuild() {
+        long startedAt = System.currentTimeMillis();
+        synchronized (writeLock) {
+            pendingChanges = new ArrayList<>();
+        }
+        try {
+            Map<ObjectId, Movie> movies = new LinkedHashMap<>();
+            rebuildTimer.record(() -> movieRepository.findByDeletedAtIsNull()
+                    .forEach(movie -> movies.put(movie.getMovieId(), movie)));
+            synchronized (writeLock) {
+                pendingChanges.forEach(change -> change.accept(movies));
+                CatalogSnapshot current = snapshot.get();
+                // A refresh that finds nothing new keeps the version, so ETags, cached
+                // responses and the search index all stay valid
+                CatalogSnapshot rebuilt = current != null && keepUnchanged(current, movies)
+                        ? current.refreshedAt(startedAt)
+                        : new CatalogSnapshot(current != null ? current.version() + 1 : 1, startedAt, movies, current);
+                snapshot.set(rebuilt);
+                return rebuilt;
+            }
+        } finally {
+            synchronized (writeLock) {
+                pendingChanges = null;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.moviebookingapp.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Component;
+
+import com.moviebookingapp.model.Movie;
+
+/**
+ * Keeps the last catalog read from MongoDB on disk, so a node that starts, or
+ * has nothing in memory, during a database outage still serves the real
+ * catalog. The file holds a header line followed by one movie per line, in the
+ * same extended JSON MongoDB stores them as, and is replaced atomically.
+ */
+@Component
+public class CatalogSnapshotStore {
+
+    @Value("${reelcritic.catalog.snapshot-file:data/catalog-snapshot.jsonl}")
+    private String snapshotFile;
+
+    @Autowired
+    private MongoConverter mongoConverter;
+
+    public void write(CatalogSnapshot snapshot) throws IOException {
+        Path target = Paths.get(snapshotFile).toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(new Document("builtAt", snapshot.builtAt())
+                        .append("movies", snapshot.movies().size()).toJson());
+                for (Movie movie : snapshot.movies()) {
+                    Document document = new Document();
+                    mongoConverter.write(movie, document);
+                    writer.newLine();
+                    writer.write(document.toJson());
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads the stored catalog, or returns null if there is none or it is
+     * incomplete.
+     */
+    public CatalogSnapshot read() {
+        Path source = Paths.get(snapshotFile);
+        if (!Files.isReadable(source)) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                return null;
+            }
+            Document header = Document.parse(headerLine);
+            Map<ObjectId, Movie> movies = new LinkedHashMap<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Movie movie = mongoConverter.read(Movie.class, Document.parse(line));
+                movies.put(movie.getMovieId(), movie);
+            }
+            if (movies.size() != header.getInteger("movies")) {
+                return null;
+            }
+            return new CatalogSnapshot(1, header.get("builtAt", Number.class).longValue(), movies, null);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("⚠️  Warning: Could not read the catalog snapshot from " + source);
+            System.err.println("Error: " + e.getMessage());
+            return null;
+        }
+    }
+}
\ No newline at end of file
@@ -39,7 +39,7 @@ public class DataInitializationService implements CommandLineRunner {
                         }
                 } catch (Exception e) {
                         System.err.println(
-                                        "⚠️  Warning: Could not initialize MongoDB data. Using mock service as fallback.");
+                                        "⚠️  Warning: Could not initialize MongoDB data. Serving the catalog stored on disk, if any.");
                         System.err.println("Error: " + e.getMessage());
                 }
         }
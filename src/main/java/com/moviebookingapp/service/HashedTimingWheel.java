@@ -0,0 +1,90 @@
+package com.moviebookingapp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Expires items after a delay using a single ticking thread. Items are dropped
+ * into one of a fixed ring of buckets, so scheduling and cancelling are O(1) and
+ * the cost of a tick only depends on the items due in that bucket.
+ */
+public class HashedTimingWheel<T> {
+
+    private final long tickMillis;
+    private final List<Set<Timeout<T>>> buckets;
+    private final Consumer<T> onExpire;
+    private final ScheduledExecutorService ticker;
+    private long currentTick;
+
+    public HashedTimingWheel(String name, long tickMillis, int wheelSize, Consumer<T> onExpire) {
+        this.tickMillis = tickMillis;
+        this.onExpire = onExpire;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(ConcurrentHashMap.newKeySet());
+        }
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized Timeout<T> schedule(T item, long delayMillis) {
+        long ticks = Math.max(1, (delayMillis + tickMillis - 1) / tickMillis);
+        int bucket = (int) ((currentTick + ticks) % buckets.size());
+        Timeout<T> timeout = new Timeout<>(item, bucket, (ticks - 1) / buckets.size());
+        buckets.get(bucket).add(timeout);
+        return timeout;
+    }
+
+    public void cancel(Timeout<T> timeout) {
+        buckets.get(timeout.bucket).remove(timeout);
+    }
+
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    void tick() {
+        List<T> expired = new ArrayList<>();
+        synchronized (this) {
+            currentTick++;
+            Set<Timeout<T>> due = buckets.get((int) (currentTick % buckets.size()));
+            for (Timeout<T> timeout : due) {
+                if (timeout.remainingRounds > 0) {
+                    timeout.remainingRounds--;
+                } else if (due.remove(timeout)) {
+                    expired.add(timeout.item);
+                }
+            }
+        }
+        for (T item : expired) {
+            try {
+                onExpire.accept(item);
+            } catch (RuntimeException e) {
+                System.err.println("⚠️  Warning: Could not expire " + item + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public static final class Timeout<T> {
+
+        private final T item;
+        private final int bucket;
+        private long remainingRounds;
+
+        private Timeout(T item, int bucket, long remainingRounds) {
+            this.item = item;
+            this.bucket = bucket;
+            this.remainingRounds = remainingRounds;
+        }
+    }
+}
\ No newline at end of file
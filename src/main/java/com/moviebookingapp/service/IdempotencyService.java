@@ -0,0 +1,272 @@
+package com.moviebookingapp.service;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviebookingapp.exception.IdempotencyConflictException;
+import com.moviebookingapp.model.IdempotencyRecord;
+import com.moviebookingapp.repository.IdempotencyRecordRepository;
+
+/**
+ * Replays the stored response of a POST when a client retries it with the same
+ * Idempotency-Key header, instead of running it again. Keys are scoped to the
+ * endpoint and the calling user. Responses are kept in a bounded in-memory cache
+ * and, optionally, in MongoDB so that retries reaching another node are also
+ * answered.
+ *
+ * With MongoDB on, a node claims a key by inserting a pending record before it
+ * runs the request. A node that finds the key already claimed waits for the
+ * stored response instead of running the request a second time.
+ */
+@Service
+public class IdempotencyService {
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${reelcritic.idempotency.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    @Value("${reelcritic.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${reelcritic.idempotency.persist:false}")
+    private boolean persist;
+
+    @Value("${reelcritic.idempotency.wait-ms:10000}")
+    private long waitMillis;
+
+    @Value("${reelcritic.idempotency.claim-timeout-ms:120000}")
+    private long claimTimeoutMillis;
+
+    private static final long POLL_MILLIS = 100;
+
+    private final Map<String, StoredResponse> responses = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    private final ConcurrentMap<String, CompletableFuture<ResponseEntity<?>>> inFlight = new ConcurrentHashMap<>();
+
+    public ResponseEntity<?> execute(String scope, String idempotencyKey, Supplier<ResponseEntity<?>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        String key = scope + ":" + currentUsername() + ":" + idempotencyKey;
+        ResponseEntity<?> stored = lookup(key);
+        if (stored != null) {
+            return stored;
+        }
+
+        CompletableFuture<ResponseEntity<?>> execution = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<?>> running = inFlight.putIfAbsent(key, execution);
+        if (running != null) {
+            // The same request is still being processed, answer with its outcome
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        Date claimedAt = null;
+        try {
+            // A retry that lost the race to a request which has just finished finds its result here
+            ResponseEntity<?> finished = lookup(key);
+            if (finished == null && persist) {
+                claimedAt = claim(key);
+                if (claimedAt == null) {
+                    finished = awaitOtherNode(key);
+                }
+            }
+            if (finished != null) {
+                execution.complete(finished);
+                return finished;
+            }
+            ResponseEntity<?> response = action.get();
+            // A failed attempt may be transient, so only successful responses are replayed
+            if (response.getStatusCode().is2xxSuccessful()) {
+                store(key, response);
+            } else {
+                release(key, claimedAt);
+            }
+            execution.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            release(key, claimedAt);
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key);
+        }
+    }
+
+    /**
+     * Inserts a pending record for the key. The insert fails on the _id index
+     * when another node holds the key, so only one node runs the request.
+     * Returns the claim time, or null when another node holds the key.
+     */
+    private Date claim(String key) {
+        Date claimedAt = new Date();
+        try {
+            idempotencyRecordRepository.insert(new IdempotencyRecord(key, 0, null, null, true, claimedAt));
+            return claimedAt;
+        } catch (DuplicateKeyException e) {
+            Optional<IdempotencyRecord> holder = idempotencyRecordRepository.findById(key);
+            if (holder.isPresent()) {
+                // A claim left by a node that stopped, or a response past its TTL the TTL monitor has not removed yet
+                long age = claimedAt.getTime() - holder.get().getCreatedAt().getTime();
+                boolean stale = age >= (holder.get().isPending() ? claimTimeoutMillis : ttlMillis());
+                if (!stale || idempotencyRecordRepository.deleteByKeyAndCreatedAt(key,
+                        holder.get().getCreatedAt()) == 0) {
+                    return null;
+                }
+            }
+        }
+        // The old record is gone, try once more; another node may still win the insert
+        try {
+            idempotencyRecordRepository.insert(new IdempotencyRecord(key, 0, null, null, true, claimedAt));
+            return claimedAt;
+        } catch (DuplicateKeyException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Drops this node's claim after a failed attempt, so a retry can run the
+     * request again.
+     */
+    private void release(String key, Date claimedAt) {
+        if (claimedAt == null) {
+            return;
+        }
+        try {
+            idempotencyRecordRepository.deleteByKeyAndCreatedAt(key, claimedAt);
+        } catch (RuntimeException e) {
+            System.err.println("⚠️  Warning: Could not release idempotency key " + key
+                    + ", it is taken over after the claim timeout");
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Polls MongoDB for the response of the node that holds the key.
+     */
+    private ResponseEntity<?> awaitOtherNode(String key) {
+        long deadline = System.currentTimeMillis() + waitMillis;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            Optional<IdempotencyRecord> record = idempotencyRecordRepository.findById(key);
+            if (record.isEmpty()) {
+                throw new IdempotencyConflictException(
+                        "The earlier request with this Idempotency-Key did not complete, retry it");
+            }
+            if (!record.get().isPending()) {
+                ResponseEntity<?> response = toResponse(record.get());
+                remember(key, response, record.get().getCreatedAt().getTime() + ttlMillis());
+                return response;
+            }
+        }
+        throw new IdempotencyConflictException("A request with this Idempotency-Key is still being processed");
+    }
+
+    private ResponseEntity<?> lookup(String key) {
+        long now = System.currentTimeMillis();
+        synchronized (responses) {
+            StoredResponse stored = responses.get(key);
+            if (stored != null) {
+                if (stored.expiresAt > now) {
+                    return stored.response;
+                }
+                responses.remove(key);
+            }
+        }
+        if (!persist) {
+            return null;
+        }
+        Optional<IdempotencyRecord> record = idempotencyRecordRepository.findById(key);
+        if (record.isEmpty() || record.get().isPending()
+                || record.get().getCreatedAt().getTime() + ttlMillis() <= now) {
+            return null;
+        }
+        ResponseEntity<?> response = toResponse(record.get());
+        remember(key, response, record.get().getCreatedAt().getTime() + ttlMillis());
+        return response;
+    }
+
+    private void store(String key, ResponseEntity<?> response) {
+        remember(key, response, System.currentTimeMillis() + ttlMillis());
+        if (persist) {
+            idempotencyRecordRepository.save(toRecord(key, response));
+        }
+    }
+
+    private void remember(String key, ResponseEntity<?> response, long expiresAt) {
+        synchronized (responses) {
+            responses.put(key, new StoredResponse(response, expiresAt));
+        }
+    }
+
+    private IdempotencyRecord toRecord(String key, ResponseEntity<?> response) {
+        Object body = response.getBody();
+        try {
+            if (body == null || body instanceof String) {
+                return new IdempotencyRecord(key, response.getStatusCode().value(), MediaType.TEXT_PLAIN_VALUE,
+                        (String) body, false, new Date());
+            }
+            return new IdempotencyRecord(key, response.getStatusCode().value(), MediaType.APPLICATION_JSON_VALUE,
+                    objectMapper.writeValueAsString(body), false, new Date());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store response for idempotency key", e);
+        }
+    }
+
+    private ResponseEntity<?> toResponse(IdempotencyRecord record) {
+        return ResponseEntity.status(record.getStatus())
+                .header(HttpHeaders.CONTENT_TYPE, record.getContentType())
+                .body(record.getBody());
+    }
+
+    private long ttlMillis() {
+        return TimeUnit.MINUTES.toMillis(ttlMinutes);
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private record StoredResponse(ResponseEntity<?> response, long expiresAt) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.moviebookingapp.service;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import com.moviebookingapp.exception.DatabaseUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Wraps every repository call. After failureThreshold consecutive connection
+ * failures the breaker opens and calls fail at once with
+ * DatabaseUnavailableException instead of waiting out the driver timeout. Once
+ * open-ms has passed it lets up to half-open-calls trial calls through; a
+ * successful trial closes it again and a failed one reopens it.
+ */
+@Component
+public class MongoCircuitBreaker implements MethodInterceptor {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    @Value("${reelcritic.mongo.breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${reelcritic.mongo.breaker.open-ms:10000}")
+    private long openMillis;
+
+    @Value("${reelcritic.mongo.breaker.half-open-calls:1}")
+    private int halfOpenCalls;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private int trialsInFlight;
+
+    private Counter rejected;
+
+    @PostConstruct
+    void initMetrics() {
+        rejected = Counter.builder("mongo.breaker.rejected")
+                .description("Repository calls failed fast while the MongoDB circuit breaker was open")
+                .register(meterRegistry);
+        Gauge.builder("mongo.breaker.state", this, breaker -> breaker.getState().ordinal())
+                .description("MongoDB circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public boolean isClosed() {
+        return getState() == State.CLOSED;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        boolean trial = acquire();
+        try {
+            Object result = invocation.proceed();
+            onSuccess(trial);
+            return result;
+        } catch (Throwable e) {
+            if (isOutage(e)) {
+                onFailure(trial);
+            } else {
+                // MongoDB answered, even if it was with an error
+                onSuccess(trial);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns whether the call is a half-open trial, or throws if the breaker does
+     * not let it through.
+     */
+    private synchronized boolean acquire() {
+        if (state == State.OPEN) {
+            long waited = System.currentTimeMillis() - openedAt;
+            if (waited < openMillis) {
+                rejected.increment();
+                throw new DatabaseUnavailableException(
+                        "Database is unavailable, retry in " + ((openMillis - waited + 999) / 1000) + "s");
+            }
+            transition(State.HALF_OPEN);
+            trialsInFlight = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialsInFlight >= halfOpenCalls) {
+                rejected.increment();
+                throw new DatabaseUnavailableException("Database is unavailable, reconnecting");
+            }
+            trialsInFlight++;
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized void onSuccess(boolean trial) {
+        if (trial && state == State.HALF_OPEN) {
+            transition(State.CLOSED);
+        }
+        if (state == State.CLOSED) {
+            consecutiveFailures = 0;
+        }
+    }
+
+    private synchronized void onFailure(boolean trial) {
+        if (trial && state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED && ++consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    private void open() {
+        transition(State.OPEN);
+        openedAt = System.currentTimeMillis();
+    }
+
+    private void transition(State next) {
+        if (next == State.OPEN) {
+            System.err.println("⚠️  MongoDB circuit breaker opened, failing repository calls for "
+                    + openMillis + "ms");
+        } else if (next == State.CLOSED) {
+            System.out.println("✅ MongoDB circuit breaker closed, database reachable again");
+        }
+        state = next;
+        consecutiveFailures = 0;
+    }
+
+    private static boolean isOutage(Throwable e) {
+        return e instanceof DataAccessResourceFailureException || e instanceof TransientDataAccessException
+                || e instanceof MongoSocketException || e instanceof MongoTimeoutException;
+    }
+}
\ No newline at end of file
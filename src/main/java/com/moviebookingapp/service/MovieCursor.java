@@ -0,0 +1,50 @@
+package com.moviebookingapp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.bson.types.ObjectId;
+
+import com.moviebookingapp.model.Movie;
+import com.moviebookingapp.model.MovieSummary;
+
+/**
+ * Position of the last movie of a catalog page. Clients get it as an opaque
+ * base64 token and send it back unchanged to fetch the next page.
+ */
+public record MovieCursor(MovieSort sort, boolean descending, Object lastValue, ObjectId lastId) {
+
+    private static final String SEPARATOR = "|";
+
+    public static MovieCursor after(MovieSort sort, boolean descending, Movie movie) {
+        return new MovieCursor(sort, descending, sort.valueOf(movie), movie.getMovieId());
+    }
+
+    public static MovieCursor after(MovieSort sort, boolean descending, MovieSummary movie) {
+        return new MovieCursor(sort, descending, sort.valueOf(movie), new ObjectId(movie.getMovieId()));
+    }
+
+    public String encode() {
+        String token = sort.name() + SEPARATOR + descending + SEPARATOR + lastId.toHexString() + SEPARATOR
+                + (lastValue != null ? lastValue : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns null if the token was not produced by encode.
+     */
+    public static MovieCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, 4);
+            if (parts.length != 4) {
+                return null;
+            }
+            MovieSort sort = MovieSort.valueOf(parts[0]);
+            Object lastValue = parts[3].isEmpty() ? null : sort.parse(parts[3]);
+            return new MovieCursor(sort, Boolean.parseBoolean(parts[1]), lastValue, new ObjectId(parts[2]));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,183 @@
+package com.moviebookingapp.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.bson.types.ObjectId;
+
+import com.moviebookingapp.model.Movie;
+
+/**
+ * Immutable search index over movie names. Names are case-folded and stripped of
+ * accents, then indexed twice: a trie answers prefix searches, and trigram
+ * postings answer substring searches by intersecting the postings of the query's
+ * trigrams and checking the few remaining candidates.
+ */
+public final class MovieNameIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    private static final int GRAM = 3;
+
+    // Movies by ordinal, in catalog order
+    private final ObjectId[] ids;
+    private final String[] names;
+    private final TrieNode root = new TrieNode();
+    private final Map<String, int[]> trigrams;
+
+    public MovieNameIndex(Map<ObjectId, Movie> moviesById) {
+        ids = new ObjectId[moviesById.size()];
+        names = new String[moviesById.size()];
+        Map<String, List<Integer>> postings = new HashMap<>();
+        int ordinal = 0;
+        for (Movie movie : moviesById.values()) {
+            String name = normalize(movie.getMovieName());
+            ids[ordinal] = movie.getMovieId();
+            names[ordinal] = name;
+            root.insert(name, ordinal);
+            for (int i = 0; i + GRAM <= name.length(); i++) {
+                List<Integer> posting = postings.computeIfAbsent(name.substring(i, i + GRAM),
+                        gram -> new ArrayList<>());
+                // Ordinals are added in increasing order, so only the last one can repeat
+                if (posting.isEmpty() || posting.get(posting.size() - 1) != ordinal) {
+                    posting.add(ordinal);
+                }
+            }
+            ordinal++;
+        }
+        trigrams = new HashMap<>(postings.size() * 2);
+        postings.forEach((gram, posting) -> trigrams.put(gram,
+                posting.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Whether this index still describes the given catalog, so a new snapshot
+     * whose movie names did not change can reuse it.
+     */
+    public boolean covers(Map<ObjectId, Movie> moviesById) {
+        if (moviesById.size() != ids.length) {
+            return false;
+        }
+        Iterator<Movie> movies = moviesById.values().iterator();
+        for (int ordinal = 0; ordinal < ids.length; ordinal++) {
+            Movie movie = movies.next();
+            if (!ids[ordinal].equals(movie.getMovieId()) || !names[ordinal].equals(normalize(movie.getMovieName()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ids of the movies whose name contains the query, ignoring case and accents.
+     * Names starting with the query come first; each group keeps catalog order.
+     */
+    public List<ObjectId> search(String query) {
+        String term = normalize(query);
+        List<ObjectId> results = new ArrayList<>();
+        if (term.isEmpty()) {
+            return results;
+        }
+        int[] prefixMatches = root.find(term);
+        for (int ordinal : prefixMatches) {
+            results.add(ids[ordinal]);
+        }
+        for (int ordinal : substringCandidates(term)) {
+            if (Arrays.binarySearch(prefixMatches, ordinal) < 0 && names[ordinal].contains(term)) {
+                results.add(ids[ordinal]);
+            }
+        }
+        return results;
+    }
+
+    private int[] substringCandidates(String term) {
+        if (term.length() < GRAM) {
+            // Too short for a trigram, but checking every in-memory name is still cheap
+            int[] all = new int[names.length];
+            Arrays.setAll(all, ordinal -> ordinal);
+            return all;
+        }
+        int[] candidates = null;
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            int[] posting = trigrams.get(term.substring(i, i + GRAM));
+            if (posting == null) {
+                return new int[0];
+            }
+            candidates = candidates == null ? posting : intersect(candidates, posting);
+            if (candidates.length == 0) {
+                break;
+            }
+        }
+        return candidates;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length;) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static final class TrieNode {
+
+        private final Map<Character, TrieNode> children = new HashMap<>(4);
+        private int[] ordinals = new int[0];
+
+        void insert(String name, int ordinal) {
+            TrieNode node = this;
+            for (int i = 0; i < name.length(); i++) {
+                node = node.children.computeIfAbsent(name.charAt(i), c -> new TrieNode());
+            }
+            node.ordinals = Arrays.copyOf(node.ordinals, node.ordinals.length + 1);
+            node.ordinals[node.ordinals.length - 1] = ordinal;
+        }
+
+        /**
+         * Sorted ordinals of every name that starts with prefix.
+         */
+        int[] find(String prefix) {
+            TrieNode node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            if (node == null) {
+                return new int[0];
+            }
+            List<int[]> found = new ArrayList<>();
+            node.collect(found);
+            return found.stream().flatMapToInt(Arrays::stream).sorted().toArray();
+        }
+
+        private void collect(List<int[]> found) {
+            if (ordinals.length > 0) {
+                found.add(ordinals);
+            }
+            children.values().forEach(child -> child.collect(found));
+        }
+    }
+}
\ No newline at end of file
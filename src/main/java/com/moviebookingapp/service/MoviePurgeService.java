@@ -0,0 +1,164 @@
+package com.moviebookingapp.service;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mongodb.DBRef;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Removes the tickets and reviews of deleted movies, and then the movies
+ * themselves. Deleting a movie only tombstones it; this job deletes the related
+ * documents in batches of batch-size ids with a pause after each batch, so
+ * removing a title with a large history never holds the primary for long.
+ *
+ * Only tickets booked before the tombstone are purged, so a movie added again
+ * under the same name and theatre keeps its new bookings.
+ */
+@Service
+public class MoviePurgeService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${reelcritic.purge.batch-size:500}")
+    private int batchSize;
+
+    @Value("${reelcritic.purge.batch-pause-ms:200}")
+    private long batchPauseMillis;
+
+    private final AtomicLong ticketsDeleted = new AtomicLong();
+    private final AtomicLong reviewsDeleted = new AtomicLong();
+    private final AtomicLong moviesPurged = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong busyMillis = new AtomicLong();
+
+    private volatile String currentMovie;
+    private volatile Instant lastRunAt;
+
+    private Counter ticketCounter;
+    private Counter reviewCounter;
+
+    @PostConstruct
+    void initMetrics() {
+        ticketCounter = Counter.builder("movie.purge.deleted")
+                .description("Documents of deleted movies removed by the purge job")
+                .tag("collection", "ticket")
+                .register(meterRegistry);
+        reviewCounter = Counter.builder("movie.purge.deleted")
+                .description("Documents of deleted movies removed by the purge job")
+                .tag("collection", "review")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${reelcritic.purge.interval-ms:30000}",
+            initialDelayString = "${reelcritic.purge.interval-ms:30000}")
+    void purge() {
+        lastRunAt = Instant.now();
+        try {
+            Document movie;
+            while ((movie = nextDeletedMovie()) != null) {
+                purgeMovie(movie);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // The movie stays tombstoned and is picked up again on the next run
+            System.err.println("⚠️  Warning: Could not purge deleted movie " + currentMovie + ".");
+            System.err.println("Error: " + e.getMessage());
+        } finally {
+            currentMovie = null;
+        }
+    }
+
+    /**
+     * Progress of the purge job, as shown by the moviepurge actuator endpoint.
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        try {
+            status.put("pendingMovies", mongoTemplate.count(deletedMovies(), "movie"));
+        } catch (RuntimeException e) {
+            // Still report the counters while MongoDB is unreachable
+            status.put("pendingMovies", null);
+        }
+        status.put("currentMovie", currentMovie);
+        status.put("moviesPurged", moviesPurged.get());
+        status.put("ticketsDeleted", ticketsDeleted.get());
+        status.put("reviewsDeleted", reviewsDeleted.get());
+        status.put("batches", batches.get());
+        long busy = busyMillis.get();
+        status.put("documentsPerSecond",
+                busy > 0 ? (ticketsDeleted.get() + reviewsDeleted.get()) * 1000 / busy : 0);
+        status.put("lastRunAt", lastRunAt);
+        return status;
+    }
+
+    private Document nextDeletedMovie() {
+        Query query = deletedMovies().with(Sort.by("deletedAt")).limit(1);
+        query.fields().include("_id", "movieName", "theatreName", "deletedAt");
+        return mongoTemplate.findOne(query, Document.class, "movie");
+    }
+
+    private void purgeMovie(Document movie) throws InterruptedException {
+        ObjectId movieId = movie.getObjectId("_id");
+        currentMovie = movie.getString("movieName") + " @ " + movie.getString("theatreName");
+        // Ticket ids start with their creation time, so this matches tickets booked before the delete
+        ObjectId deletedAt = ObjectId.getSmallestWithDate(movie.get("deletedAt", Date.class));
+        purgeBatches("ticket", Criteria.where("movieName").is(movie.getString("movieName"))
+                .and("theatreName").is(movie.getString("theatreName"))
+                .and("_id").lt(deletedAt), ticketsDeleted, ticketCounter);
+        purgeBatches("review", Criteria.where("movie").is(new DBRef("movie", movieId)), reviewsDeleted,
+                reviewCounter);
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(movieId)), "movie");
+        moviesPurged.incrementAndGet();
+        System.out.println("🗑️  Purged deleted movie " + currentMovie);
+    }
+
+    private void purgeBatches(String collection, Criteria criteria, AtomicLong deleted, Counter counter)
+            throws InterruptedException {
+        while (true) {
+            long startedAt = System.currentTimeMillis();
+            Query query = new Query(criteria).limit(batchSize);
+            query.fields().include("_id");
+            List<Object> ids = mongoTemplate.find(query, Document.class, collection).stream()
+                    .map(document -> document.get("_id"))
+                    .toList();
+            if (ids.isEmpty()) {
+                return;
+            }
+            long removed = mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), collection)
+                    .getDeletedCount();
+            deleted.addAndGet(removed);
+            counter.increment(removed);
+            batches.incrementAndGet();
+            busyMillis.addAndGet(System.currentTimeMillis() - startedAt);
+            Thread.sleep(batchPauseMillis);
+        }
+    }
+
+    private Query deletedMovies() {
+        return new Query(Criteria.where("deletedAt").exists(true));
+    }
+}
\ No newline at end of file
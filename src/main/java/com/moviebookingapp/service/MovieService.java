@@ -1,9 +1,18 @@
 package com.moviebookingapp.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
 
 import com.moviebookingapp.model.Movie;
+import com.moviebookingapp.model.MovieSummary;
+import com.moviebookingapp.model.Showtime;
 import com.moviebookingapp.model.Ticket;
+import com.moviebookingapp.payload.response.BatchBookingResponse;
+import com.moviebookingapp.payload.response.FacetedMoviePage;
+import com.moviebookingapp.payload.response.MoviePage;
 
 public interface MovieService {
 
@@ -11,17 +20,47 @@ public interface MovieService {
 
     public List<Movie> getAllMovies();
 
+    public List<MovieSummary> getAllMovieSummaries();
+
+    public MoviePage<Movie> getMoviePage(String sort, String order, String cursor, Integer size);
+
+    public MoviePage<MovieSummary> getMovieSummaryPage(String sort, String order, String cursor, Integer size);
+
+    public FacetedMoviePage filterMovies(Map<String, List<String>> filters, int page, int size);
+
+    public Movie getMovieById(ObjectId movieId);
+
     public List<Movie> getMovieByName(String movieName);
 
-    public List<Movie> findAvailableTickets(String movieName, String theatreName);
+    public List<MovieSummary> getMovieSummariesByName(String movieName);
+
+    public List<String> suggestMovieNames(String prefix, int limit);
+
+    public List<Showtime> findShowtimes(String movieName, String theatreName);
+
+    public List<Showtime> getShowtimes(ObjectId movieId);
+
+    public void syncTicketStatus(Collection<Showtime> showtimes);
 
     public boolean deleteMovieByName(String movieName);
 
     public Ticket addTicket(Ticket ticket);
 
+    public void validateBooking(String movieName, Ticket ticket);
+
+    public Ticket bookTicket(String movieName, Ticket ticket);
+
+    public Ticket confirmBooking(String movieName, Ticket ticket);
+
+    public BatchBookingResponse bookTicketBatch(List<Ticket> tickets);
+
     public List<Ticket> getAllBookedTickets(String movieName);
 
     public List<Ticket> findSeats(String movieName, String theatrename);
 
-    public boolean updateAvailableTickets(String movieName, String theatreName, Integer noOfTickets);
+    public String findBookedSeat(String movieName, String theatreName, int[] seats);
+
+    public Integer updateAvailableTickets(String movieName, String theatreName, Integer noOfTickets);
+
+    public Integer restoreAvailableTickets(String movieName, String theatreName, Integer noOfTickets);
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.moviebookingapp.service;
+
+import java.time.LocalDate;
+import java.util.function.Function;
+
+import com.moviebookingapp.model.Movie;
+import com.moviebookingapp.model.MovieSummary;
+
+/**
+ * Orders the catalog can be paged in. Every order ends with _id so that each
+ * movie has a unique position to resume from.
+ */
+public enum MovieSort {
+
+    MOVIE_ID("movieId", "_id", false, value -> null),
+    RATING("rating", "rating", true, Double::valueOf),
+    RELEASE_DATE("releaseDate", "releaseDate", true, LocalDate::parse);
+
+    private final String paramName;
+    private final String field;
+    private final boolean descendingByDefault;
+    private final Function<String, Object> parser;
+
+    MovieSort(String paramName, String field, boolean descendingByDefault, Function<String, Object> parser) {
+        this.paramName = paramName;
+        this.field = field;
+        this.descendingByDefault = descendingByDefault;
+        this.parser = parser;
+    }
+
+    public static MovieSort fromParam(String paramName) {
+        if (paramName == null) {
+            return MOVIE_ID;
+        }
+        for (MovieSort sort : values()) {
+            if (sort.paramName.equalsIgnoreCase(paramName)) {
+                return sort;
+            }
+        }
+        return null;
+    }
+
+    public String getParamName() {
+        return paramName;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public boolean isDescendingByDefault() {
+        return descendingByDefault;
+    }
+
+    public Object valueOf(Movie movie) {
+        return switch (this) {
+            case MOVIE_ID -> null;
+            case RATING -> movie.getRating();
+            case RELEASE_DATE -> movie.getReleaseDate();
+        };
+    }
+
+    public Object valueOf(MovieSummary movie) {
+        return switch (this) {
+            case MOVIE_ID -> null;
+            case RATING -> movie.getRating();
+            case RELEASE_DATE -> movie.getReleaseDate();
+        };
+    }
+
+    public Object parse(String value) {
+        return parser.apply(value);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,284 @@
+package com.moviebookingapp.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import com.moviebookingapp.exception.InvalidPageRequestException;
+import com.moviebookingapp.model.Movie;
+import com.moviebookingapp.model.MovieSummary;
+import com.moviebookingapp.payload.response.MovieSearchPage;
+
+/**
+ * Ranked full-text search over movie name, description, cast, director, genre
+ * and language. Each movie is one document whose term frequencies and length
+ * are weighted by field boosts, and matches are scored with BM25.
+ *
+ * The index follows the catalog snapshot: before a search, movies added,
+ * removed or changed since the last search are re-indexed one by one. The first
+ * full build runs in the background after startup and analyzes movies in
+ * parallel.
+ */
+@Service
+@Order(4)
+public class MovieTextSearchService implements CommandLineRunner {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "are", "as", "at", "be", "by", "for",
+            "from", "has", "his", "her", "in", "is", "it", "its", "of", "on", "or", "that", "the", "their", "to",
+            "was", "who", "with");
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Value("${reelcritic.search.boost.name:4}")
+    private double nameBoost;
+
+    @Value("${reelcritic.search.boost.cast:3}")
+    private double castBoost;
+
+    @Value("${reelcritic.search.boost.director:3}")
+    private double directorBoost;
+
+    @Value("${reelcritic.search.boost.genre:2}")
+    private double genreBoost;
+
+    @Value("${reelcritic.search.boost.language:1.5}")
+    private double languageBoost;
+
+    @Value("${reelcritic.search.boost.description:1}")
+    private double descriptionBoost;
+
+    @Value("${reelcritic.search.max-results:1000}")
+    private int maxResults;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // All guarded by lock
+    private final Map<ObjectId, IndexedMovie> movies = new HashMap<>();
+    private final Map<String, Map<ObjectId, Double>> postings = new HashMap<>();
+    private double totalLength;
+    private long indexedVersion = -1;
+
+    @Override
+    public void run(String... args) {
+        Thread builder = new Thread(() -> {
+            try {
+                long start = System.currentTimeMillis();
+                CatalogSnapshot snapshot = catalogSnapshotService.getSnapshot();
+                sync(snapshot);
+                System.out.println("🔎 Indexed " + snapshot.movies().size() + " movies for full-text search in "
+                        + (System.currentTimeMillis() - start) + " ms");
+            } catch (Exception e) {
+                System.err.println("⚠️  Warning: Could not build the full-text search index.");
+                System.err.println("Error: " + e.getMessage());
+            }
+        }, "movie-text-index");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * Rejects a page that starts at or past max-results, since only that many
+     * matches are ranked. Computed in long so a huge page number cannot wrap.
+     */
+    public void validatePage(int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new InvalidPageRequestException("Page must be 0 or more and size at least 1");
+        }
+        if ((long) page * size >= maxResults) {
+            throw new InvalidPageRequestException("Only the first " + maxResults + " matches can be paged to");
+        }
+    }
+
+    /**
+     * Returns one page of the movies matching any word of the query, best first.
+     * The total counts the matches that can be paged to, at most max-results.
+     */
+    public MovieSearchPage search(String query, int page, int size) {
+        validatePage(page, size);
+        CatalogSnapshot snapshot = catalogSnapshotService.getSnapshot();
+        sync(snapshot);
+        List<String> terms = analyze(query).keySet().stream().toList();
+        int topK = (int) Math.min((long) (page + 1) * size, maxResults);
+
+        lock.readLock().lock();
+        try {
+            Map<ObjectId, Double> scores = new HashMap<>();
+            double averageLength = movies.isEmpty() ? 1 : totalLength / movies.size();
+            for (String term : terms) {
+                Map<ObjectId, Double> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (movies.size() - posting.size() + 0.5) / (posting.size() + 0.5));
+                posting.forEach((movieId, frequency) -> {
+                    double norm = K1 * (1 - B + B * movies.get(movieId).length / averageLength);
+                    scores.merge(movieId, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                });
+            }
+
+            // Min-heap of the best topK so far; the weakest match is evicted first
+            Comparator<Map.Entry<ObjectId, Double>> byScore = Map.Entry.comparingByValue();
+            PriorityQueue<Map.Entry<ObjectId, Double>> best = new PriorityQueue<>(Math.max(topK, 1), byScore);
+            for (Map.Entry<ObjectId, Double> score : scores.entrySet()) {
+                if (best.size() < topK) {
+                    best.add(score);
+                } else if (topK > 0 && score.getValue() > best.peek().getValue()) {
+                    best.poll();
+                    best.add(score);
+                }
+            }
+            List<Map.Entry<ObjectId, Double>> ranked = new ArrayList<>(best);
+            ranked.sort(byScore.reversed());
+
+            List<MovieSummary> results = new ArrayList<>();
+            for (int i = page * size; i < ranked.size(); i++) {
+                results.add(MovieSummary.of(movies.get(ranked.get(i).getKey()).movie));
+            }
+            return new MovieSearchPage(results, page, size, Math.min(scores.size(), maxResults));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Brings the index up to date with the snapshot. Unchanged movies are skipped
+     * by instance, and movies whose indexed text did not change (such as after a
+     * booking) only have their reference updated.
+     */
+    private void sync(CatalogSnapshot snapshot) {
+        lock.readLock().lock();
+        try {
+            if (indexedVersion >= snapshot.version()) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (indexedVersion >= snapshot.version()) {
+                return;
+            }
+            List<Movie> changed = new ArrayList<>();
+            for (Movie movie : snapshot.movies()) {
+                IndexedMovie indexed = movies.get(movie.getMovieId());
+                if (indexed == null || indexed.movie != movie) {
+                    changed.add(movie);
+                }
+            }
+            // Analyzing is the expensive part, so it runs in parallel for large changes
+            List<IndexedMovie> analyzed = (changed.size() > 64 ? changed.parallelStream() : changed.stream())
+                    .map(this::analyze)
+                    .toList();
+            for (IndexedMovie movie : analyzed) {
+                IndexedMovie previous = movies.get(movie.movie.getMovieId());
+                if (previous != null && previous.terms.equals(movie.terms)) {
+                    previous.movie = movie.movie;
+                } else {
+                    remove(previous);
+                    add(movie);
+                }
+            }
+            Set<ObjectId> removed = new HashSet<>(movies.keySet());
+            removed.removeAll(snapshot.moviesById().keySet());
+            for (ObjectId movieId : removed) {
+                remove(movies.get(movieId));
+            }
+            indexedVersion = snapshot.version();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(IndexedMovie movie) {
+        ObjectId movieId = movie.movie.getMovieId();
+        movies.put(movieId, movie);
+        movie.terms.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new HashMap<>())
+                .put(movieId, frequency));
+        totalLength += movie.length;
+    }
+
+    private void remove(IndexedMovie movie) {
+        if (movie == null) {
+            return;
+        }
+        ObjectId movieId = movie.movie.getMovieId();
+        movies.remove(movieId);
+        for (String term : movie.terms.keySet()) {
+            Map<ObjectId, Double> posting = postings.get(term);
+            posting.remove(movieId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= movie.length;
+    }
+
+    private IndexedMovie analyze(Movie movie) {
+        Map<String, Double> terms = new HashMap<>();
+        double length = 0;
+        length += addField(terms, movie.getMovieName(), nameBoost);
+        length += addField(terms, movie.getDescription(), descriptionBoost);
+        length += addField(terms, movie.getDirector(), directorBoost);
+        length += addField(terms, movie.getCast() != null ? String.join(" ", movie.getCast()) : null, castBoost);
+        length += addField(terms, movie.getGenre(), genreBoost);
+        length += addField(terms, movie.getLanguage(), languageBoost);
+        return new IndexedMovie(movie, terms, length);
+    }
+
+    /**
+     * Adds boost to the frequency of every word of text and returns the weighted
+     * length it adds to the document.
+     */
+    private double addField(Map<String, Double> terms, String text, double boost) {
+        Map<String, Double> words = analyze(text);
+        words.forEach((word, count) -> terms.merge(word, count * boost, Double::sum));
+        return words.values().stream().mapToDouble(Double::doubleValue).sum() * boost;
+    }
+
+    private static Map<String, Double> analyze(String text) {
+        if (text == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, Double> words = new HashMap<>();
+        for (String word : NON_WORD.split(MovieNameIndex.normalize(text))) {
+            if (!word.isEmpty() && !STOP_WORDS.contains(word)) {
+                words.merge(word, 1.0, Double::sum);
+            }
+        }
+        return words;
+    }
+
+    private static final class IndexedMovie {
+
+        private Movie movie;
+        private final Map<String, Double> terms;
+        private final double length;
+
+        private IndexedMovie(Movie movie, Map<String, Double> terms, double length) {
+            this.movie = movie;
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.moviebookingapp.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.moviebookingapp.repository.MovieRepository;
+
+/**
+ * Rebuilds the running rating aggregates on movie documents from the review
+ * collection. Reviews update the aggregates incrementally, so this only has to
+ * correct drift, e.g. from reviews written or removed outside the API. It runs
+ * once at startup, which also backfills movies reviewed before the aggregates
+ * existed, and then every repair-ms.
+ */
+@Service
+@Order(6)
+public class RatingAggregateRepairService implements CommandLineRunner {
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Override
+    public void run(String... args) throws Exception {
+        repair();
+    }
+
+    @Scheduled(fixedDelayString = "${reelcritic.ratings.repair-ms:3600000}",
+            initialDelayString = "${reelcritic.ratings.repair-ms:3600000}")
+    void repair() {
+        try {
+            long repaired = movieRepository.repairRatingAggregates();
+            if (repaired > 0) {
+                System.out.println("⭐ Repaired rating aggregates of " + repaired + " movies");
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️  Warning: Could not repair movie rating aggregates.");
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
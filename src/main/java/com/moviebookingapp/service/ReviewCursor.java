@@ -0,0 +1,44 @@
+package com.moviebookingapp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.bson.types.ObjectId;
+
+import com.moviebookingapp.model.Review;
+
+/**
+ * Position of the last review of a review page, newest first by createdDate
+ * with reviewId breaking ties. Clients get it as an opaque base64 token and send
+ * it back unchanged to fetch the next page.
+ */
+public record ReviewCursor(LocalDateTime lastCreatedDate, ObjectId lastId) {
+
+    private static final String SEPARATOR = "|";
+
+    public static ReviewCursor after(Review review) {
+        return new ReviewCursor(review.getCreatedDate(), review.getReviewId());
+    }
+
+    public String encode() {
+        String token = lastId.toHexString() + SEPARATOR + lastCreatedDate;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns null if the token was not produced by encode.
+     */
+    public static ReviewCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, 2);
+            if (parts.length != 2) {
+                return null;
+            }
+            return new ReviewCursor(LocalDateTime.parse(parts[1]), new ObjectId(parts[0]));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
\ No newline at end of file
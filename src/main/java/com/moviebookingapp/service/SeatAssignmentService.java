@@ -0,0 +1,217 @@
+package com.moviebookingapp.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.moviebookingapp.exception.InvalidLayoutException;
+import com.moviebookingapp.exception.LayoutNotFoundException;
+import com.moviebookingapp.model.AuditoriumLayout;
+import com.moviebookingapp.model.SeatCode;
+import com.moviebookingapp.repository.AuditoriumLayoutRepository;
+
+/**
+ * Picks the best block of contiguous free seats for a show. Each row is handled
+ * as a single 64-bit word of free seats, so finding every run of N seats in a row
+ * is N word operations, and the runs are scored by how close they sit to the
+ * centre of the row and to the preferred row.
+ */
+@Service
+public class SeatAssignmentService {
+
+    /**
+     * Preferred row as a fraction of the depth of the house, counted from the
+     * screen.
+     */
+    private static final double PREFERRED_ROW = 0.6;
+
+    // Rows "A" to "ZZ", the most SeatCode can label
+    private static final int MAX_ROWS = 702;
+
+    @Autowired
+    private AuditoriumLayoutRepository auditoriumLayoutRepository;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    private final ConcurrentMap<String, SeatMap> seatMaps = new ConcurrentHashMap<>();
+
+    public AuditoriumLayout getLayout(String theatreName) {
+        return auditoriumLayoutRepository.findByTheatreName(theatreName)
+                .orElseThrow(() -> new LayoutNotFoundException("No seating layout for theatre: " + theatreName));
+    }
+
+    public AuditoriumLayout saveLayout(AuditoriumLayout layout) {
+        validateLayout(layout);
+        auditoriumLayoutRepository.findByTheatreName(layout.getTheatreName())
+                .ifPresent(existing -> layout.setLayoutId(existing.getLayoutId()));
+        AuditoriumLayout saved = auditoriumLayoutRepository.save(layout);
+        seatMaps.remove(layout.getTheatreName());
+        return saved;
+    }
+
+    /**
+     * Rejects a layout the seat map cannot be built from, so that a bad layout
+     * fails when it is saved rather than on every booking for the theatre.
+     */
+    static void validateLayout(AuditoriumLayout layout) {
+        if (layout.getTheatreName() == null || layout.getTheatreName().isBlank()) {
+            throw new InvalidLayoutException("Theatre name is required");
+        }
+        if (layout.getRows() < 1 || layout.getRows() > MAX_ROWS) {
+            throw new InvalidLayoutException("Rows must be between 1 and " + MAX_ROWS);
+        }
+        if (layout.getSeatsPerRow() < 1 || layout.getSeatsPerRow() > Long.SIZE) {
+            throw new InvalidLayoutException("Seats per row must be between 1 and " + Long.SIZE);
+        }
+        if (layout.getAisles() == null || layout.getBlockedSeats() == null) {
+            throw new InvalidLayoutException("Aisles and blocked seats must be lists, which may be empty");
+        }
+        for (Integer aisleAfter : layout.getAisles()) {
+            if (aisleAfter == null || aisleAfter < 1 || aisleAfter >= layout.getSeatsPerRow()) {
+                throw new InvalidLayoutException("Aisle must follow a seat between 1 and "
+                        + (layout.getSeatsPerRow() - 1) + ": " + aisleAfter);
+            }
+        }
+        for (String blocked : layout.getBlockedSeats()) {
+            int seat;
+            try {
+                seat = SeatCode.encode(blocked);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidLayoutException("Invalid blocked seat: " + blocked);
+            }
+            if (SeatCode.row(seat) > layout.getRows() || SeatCode.column(seat) > layout.getSeatsPerRow()) {
+                throw new InvalidLayoutException("Blocked seat is outside the layout: " + blocked);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the cached seat maps whose layout has changed. A save on this node
+     * takes effect at once; this picks up layouts saved on other nodes, on the
+     * catalog refresh schedule.
+     */
+    @Scheduled(fixedDelayString = "${reelcritic.catalog.refresh-ms:30000}",
+            initialDelayString = "${reelcritic.catalog.refresh-ms:30000}")
+    void refreshSeatMaps() {
+        if (seatMaps.isEmpty()) {
+            return;
+        }
+        try {
+            for (AuditoriumLayout layout : auditoriumLayoutRepository.findByTheatreNameIn(seatMaps.keySet())) {
+                seatMaps.computeIfPresent(layout.getTheatreName(),
+                        (theatre, seatMap) -> seatMap.layout.equals(layout) ? seatMap : new SeatMap(layout));
+            }
+        } catch (RuntimeException e) {
+            // Keep assigning from the cached layouts until MongoDB is reachable again
+        }
+    }
+
+    /**
+     * Returns the labels of the best noOfSeats adjacent free seats in one row, or
+     * null if no row has that many adjacent free seats.
+     */
+    public List<String> findBestSeats(String movieName, String theatreName, int noOfSeats) {
+        SeatMap seatMap = seatMaps.computeIfAbsent(theatreName, theatre -> new SeatMap(getLayout(theatre)));
+        if (noOfSeats < 1 || noOfSeats > seatMap.seatsPerRow) {
+            return null;
+        }
+        SeatInventory inventory = seatInventoryService.getInventory(movieName, theatreName);
+
+        double bestScore = Double.MAX_VALUE;
+        int bestRow = -1;
+        int bestStart = -1;
+        for (int row = 1; row <= seatMap.rows; row++) {
+            long free = seatMap.openSeats[row - 1] & ~inventory.bookedRow(row);
+            long starts = runStarts(free, seatMap.noAisleAfter, noOfSeats);
+            while (starts != 0) {
+                int start = Long.numberOfTrailingZeros(starts);
+                starts &= starts - 1;
+                double score = seatMap.score(row, start, noOfSeats);
+                if (score < bestScore) {
+                    bestScore = score;
+                    bestRow = row;
+                    bestStart = start;
+                }
+            }
+        }
+        if (bestRow < 0) {
+            return null;
+        }
+        List<String> seats = new ArrayList<>(noOfSeats);
+        for (int i = 0; i < noOfSeats; i++) {
+            seats.add(SeatCode.decode(SeatCode.of(bestRow, bestStart + i + 1)));
+        }
+        return seats;
+    }
+
+    /**
+     * Bit s of the result is set when seats s to s + length - 1 are all free and no
+     * aisle runs between them.
+     */
+    static long runStarts(long free, long noAisleAfter, int length) {
+        long starts = free;
+        for (int k = 1; k < length && starts != 0; k++) {
+            starts &= (noAisleAfter >>> (k - 1)) & (free >>> k);
+        }
+        return starts;
+    }
+
+    /**
+     * A layout compiled to per-row bit masks.
+     */
+    private static final class SeatMap {
+
+        private final AuditoriumLayout layout;
+        private final int rows;
+        private final int seatsPerRow;
+        private final long[] openSeats;
+        private final long noAisleAfter;
+
+        private SeatMap(AuditoriumLayout layout) {
+            this.layout = layout;
+            rows = layout.getRows();
+            seatsPerRow = layout.getSeatsPerRow();
+            long rowMask = seatsPerRow == 64 ? -1L : (1L << seatsPerRow) - 1;
+            openSeats = new long[rows];
+            Arrays.fill(openSeats, rowMask);
+            // saveLayout rejects bad layouts; ones stored before it did are read leniently
+            for (String blocked : layout.getBlockedSeats() != null ? layout.getBlockedSeats() : List.<String>of()) {
+                int seat;
+                try {
+                    seat = SeatCode.encode(blocked);
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                if (SeatCode.row(seat) <= rows && SeatCode.column(seat) <= seatsPerRow) {
+                    openSeats[SeatCode.row(seat) - 1] &= ~(1L << (SeatCode.column(seat) - 1));
+                }
+            }
+            long aisleMask = 0;
+            for (Integer aisleAfter : layout.getAisles() != null ? layout.getAisles() : List.<Integer>of()) {
+                if (aisleAfter != null && aisleAfter >= 1 && aisleAfter < seatsPerRow) {
+                    aisleMask |= 1L << (aisleAfter - 1);
+                }
+            }
+            noAisleAfter = ~aisleMask;
+        }
+
+        /**
+         * Lower is better: distance of the block's centre from the centre of the row,
+         * plus distance of the row from the preferred row, both relative to the size
+         * of the house.
+         */
+        private double score(int row, int start, int length) {
+            double blockCentre = start + (length - 1) / 2.0;
+            double rowCentre = (seatsPerRow - 1) / 2.0;
+            double preferredRow = 1 + (rows - 1) * PREFERRED_ROW;
+            return Math.abs(blockCentre - rowCentre) / seatsPerRow + Math.abs(row - preferredRow) / rows;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.moviebookingapp.service;
+
+import java.time.Instant;
+
+import com.moviebookingapp.model.ShowKey;
+import com.moviebookingapp.model.Ticket;
+
+import lombok.Data;
+
+/**
+ * Seats reserved for a pending checkout. Holds only live in memory until they
+ * are confirmed into a {@link Ticket} or expire.
+ */
+@Data
+public class SeatHold {
+
+    private final String holdId;
+    // The user who placed the hold; only they can confirm or release it
+    private final String username;
+    private final ShowKey show;
+    private final Ticket ticket;
+    private final Instant expiresAt;
+    private HashedTimingWheel.Timeout<String> timeout;
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+package com.moviebookingapp.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.moviebookingapp.exception.HoldNotFoundException;
+import com.moviebookingapp.exception.InvalidBookingException;
+import com.moviebookingapp.exception.MovieNotFoundException;
+import com.moviebookingapp.exception.SeatAlreadyBookedException;
+import com.moviebookingapp.model.SeatCode;
+import com.moviebookingapp.model.ShowKey;
+import com.moviebookingapp.model.Showtime;
+import com.moviebookingapp.model.Ticket;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Two-phase booking. A hold reserves seats in the in-memory seat inventory
+ * without writing to MongoDB; confirming it books the ticket, and holds that are
+ * neither confirmed nor released give their seats back when they expire.
+ */
+@Service
+public class SeatHoldService {
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private BookingLockManager bookingLockManager;
+
+    @Value("${reelcritic.booking.hold-minutes:10}")
+    private int defaultHoldMinutes;
+
+    @Value("${reelcritic.booking.max-hold-minutes:30}")
+    private int maxHoldMinutes;
+
+    @Value("${reelcritic.booking.hold-tick-ms:1000}")
+    private long holdTickMillis;
+
+    private final ConcurrentMap<String, SeatHold> holds = new ConcurrentHashMap<>();
+    private HashedTimingWheel<String> expiryWheel;
+
+    @PostConstruct
+    void startExpiryWheel() {
+        expiryWheel = new HashedTimingWheel<>("seat-hold-expiry", holdTickMillis, 512, this::expire);
+    }
+
+    @PreDestroy
+    void stopExpiryWheel() {
+        expiryWheel.stop();
+    }
+
+    public SeatHold hold(String movieName, Ticket ticket, Integer minutes) {
+        if (ticket.getSeats() == null || ticket.getSeats().length == 0) {
+            throw new InvalidBookingException("Seat numbers are required to hold seats");
+        }
+        movieService.validateBooking(movieName, ticket);
+        int holdMinutes = Math.min(minutes != null && minutes > 0 ? minutes : defaultHoldMinutes, maxHoldMinutes);
+        ShowKey show = new ShowKey(movieName, ticket.getTheatreName());
+        return bookingLockManager.withLock(show, () -> {
+            List<Showtime> shows = movieService.findShowtimes(movieName, ticket.getTheatreName());
+            if (shows.isEmpty()) {
+                throw new MovieNotFoundException("Movie not found: " + movieName);
+            }
+            if (shows.get(0).getTicketsAvailable() < ticket.getNoOfTickets()) {
+                return null;
+            }
+            SeatInventory inventory = seatInventoryService.getInventory(movieName, ticket.getTheatreName());
+            int bookedSeat = inventory.findBooked(ticket.getSeats());
+            if (bookedSeat >= 0) {
+                throw new SeatAlreadyBookedException(
+                        "Seat number " + SeatCode.decode(bookedSeat) + " is already booked!");
+            }
+            inventory.markBooked(ticket.getSeats());
+
+            long holdMillis = TimeUnit.MINUTES.toMillis(holdMinutes);
+            SeatHold seatHold = new SeatHold(UUID.randomUUID().toString(), currentUsername(), show, ticket,
+                    Instant.now().plusMillis(holdMillis));
+            seatHold.setTimeout(expiryWheel.schedule(seatHold.getHoldId(), holdMillis));
+            holds.put(seatHold.getHoldId(), seatHold);
+            return seatHold;
+        });
+    }
+
+    /**
+     * Books the held seats. Returns null when the show sold out while the seats
+     * were held, in which case the seats are released.
+     */
+    public Ticket confirm(String holdId) {
+        SeatHold seatHold = take(holdId);
+        Ticket ticket = seatHold.getTicket();
+        return bookingLockManager.withLock(seatHold.getShow(), () -> {
+            Ticket bookedTicket;
+            try {
+                bookedTicket = movieService.confirmBooking(ticket.getMovieName(), ticket);
+            } catch (RuntimeException e) {
+                releaseSeats(seatHold);
+                throw e;
+            }
+            if (bookedTicket == null) {
+                releaseSeats(seatHold);
+            }
+            return bookedTicket;
+        });
+    }
+
+    public void release(String holdId) {
+        SeatHold seatHold = take(holdId);
+        bookingLockManager.withLock(seatHold.getShow(), () -> {
+            releaseSeats(seatHold);
+            return null;
+        });
+    }
+
+    /**
+     * Removes the hold if it belongs to the current user. Another user's hold is
+     * reported as not found, so hold ids cannot be probed.
+     */
+    private SeatHold take(String holdId) {
+        SeatHold seatHold = holds.get(holdId);
+        if (seatHold == null || !seatHold.getUsername().equals(currentUsername())
+                || !holds.remove(holdId, seatHold)) {
+            throw new HoldNotFoundException("Seat hold not found or expired: " + holdId);
+        }
+        expiryWheel.cancel(seatHold.getTimeout());
+        return seatHold;
+    }
+
+    private void expire(String holdId) {
+        SeatHold seatHold = holds.remove(holdId);
+        if (seatHold != null) {
+            bookingLockManager.withLock(seatHold.getShow(), () -> {
+                releaseSeats(seatHold);
+                return null;
+            });
+        }
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    private void releaseSeats(SeatHold seatHold) {
+        ShowKey show = seatHold.getShow();
+        seatInventoryService.getInventory(show.movieName(), show.theatreName())
+                .release(seatHold.getTicket().getSeats());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.moviebookingapp.service;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.moviebookingapp.model.SeatCode;
+
+/**
+ * Booked seats of a single show, as {@link SeatCode}s. Seats up to number 64 of
+ * each row are kept as one bit per seat in a long word per row, so checking a
+ * seat costs the same however full the house is and a whole row can be scanned
+ * at once; seats further along a row are kept in a set.
+ */
+public class SeatInventory {
+
+    static final int SEATS_PER_ROW = 64;
+
+    private long[] bookedRows = new long[26];
+    private final Set<Integer> bookedOverflowSeats = new HashSet<>();
+    private Integer ticketsAvailable;
+
+    /**
+     * Returns the first of the given seats that is already booked, or -1 if all of
+     * them are free.
+     */
+    public synchronized int findBooked(int[] seats) {
+        if (seats != null) {
+            for (int seat : seats) {
+                if (isBooked(seat)) {
+                    return seat;
+                }
+            }
+        }
+        return -1;
+    }
+
+    public synchronized void markBooked(int[] seats) {
+        if (seats != null) {
+            for (int seat : seats) {
+                if (SeatCode.column(seat) <= SEATS_PER_ROW) {
+                    int row = SeatCode.row(seat) - 1;
+                    if (row >= bookedRows.length) {
+                        bookedRows = Arrays.copyOf(bookedRows, Math.max(row + 1, bookedRows.length * 2));
+                    }
+                    bookedRows[row] |= bitOf(seat);
+                } else {
+                    bookedOverflowSeats.add(seat);
+                }
+            }
+        }
+    }
+
+    public synchronized void release(int[] seats) {
+        if (seats != null) {
+            for (int seat : seats) {
+                if (SeatCode.column(seat) <= SEATS_PER_ROW) {
+                    int row = SeatCode.row(seat) - 1;
+                    if (row < bookedRows.length) {
+                        bookedRows[row] &= ~bitOf(seat);
+                    }
+                } else {
+                    bookedOverflowSeats.remove(seat);
+                }
+            }
+        }
+    }
+
+    /**
+     * Booked seats 1 to 64 of a row (1 = "A") as bits 0 to 63.
+     */
+    public synchronized long bookedRow(int row) {
+        return row - 1 < bookedRows.length ? bookedRows[row - 1] : 0L;
+    }
+
+    /**
+     * Tickets left for the show as seen by this node, or null until it has been
+     * loaded. Only write-behind bookings rely on it; direct bookings just keep it
+     * in step with their writes.
+     */
+    public synchronized Integer getTicketsAvailable() {
+        return ticketsAvailable;
+    }
+
+    public synchronized void loadTicketsAvailable(int ticketsAvailable) {
+        if (this.ticketsAvailable == null) {
+            this.ticketsAvailable = ticketsAvailable;
+        }
+    }
+
+    public synchronized boolean takeTickets(int noOfTickets) {
+        if (ticketsAvailable == null || ticketsAvailable < noOfTickets) {
+            return false;
+        }
+        ticketsAvailable -= noOfTickets;
+        return true;
+    }
+
+    public synchronized void adjustTicketsAvailable(int delta) {
+        if (ticketsAvailable != null) {
+            ticketsAvailable += delta;
+        }
+    }
+
+    private boolean isBooked(int seat) {
+        if (SeatCode.column(seat) > SEATS_PER_ROW) {
+            return bookedOverflowSeats.contains(seat);
+        }
+        return (bookedRow(SeatCode.row(seat)) & bitOf(seat)) != 0;
+    }
+
+    private static long bitOf(int seat) {
+        return 1L << (SeatCode.column(seat) - 1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.moviebookingapp.service;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.moviebookingapp.model.SeatCode;
+import com.moviebookingapp.model.ShowKey;
+import com.moviebookingapp.model.Showtime;
+import com.moviebookingapp.model.Ticket;
+import com.moviebookingapp.repository.ShowtimeRepository;
+import com.moviebookingapp.repository.TicketRepository;
+
+/**
+ * Keeps the booked seats of every show in memory. A show's inventory is loaded
+ * from the ticket collection the first time it is needed and is kept up to date
+ * as tickets are booked.
+ *
+ * The inventory only reflects this node's bookings plus what it last read, so
+ * a free seat here is a hint: the unique seat index on the ticket collection
+ * is what rejects a seat another node has sold. Seats booked elsewhere are
+ * picked up when a booking hits that index and on the catalog refresh
+ * schedule.
+ */
+@Service
+public class SeatInventoryService {
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private ShowtimeMigrationService showtimeMigrationService;
+
+    private final ConcurrentMap<ShowKey, SeatInventory> inventories = new ConcurrentHashMap<>();
+
+    public SeatInventory getInventory(String movieName, String theatreName) {
+        return getInventory(new ShowKey(movieName, theatreName));
+    }
+
+    public SeatInventory getInventory(ShowKey show) {
+        return inventories.computeIfAbsent(show, this::loadInventory);
+    }
+
+    /**
+     * Returns the label of the first of the given seats that is already booked,
+     * or null if all of them are free.
+     */
+    public String findBookedSeat(String movieName, String theatreName, int[] seats) {
+        int bookedSeat = getInventory(movieName, theatreName).findBooked(seats);
+        return bookedSeat >= 0 ? SeatCode.decode(bookedSeat) : null;
+    }
+
+    public void markBooked(Ticket ticket) {
+        getInventory(ticket.getMovieName(), ticket.getTheatreName()).markBooked(ticket.getSeats());
+    }
+
+    /**
+     * Takes tickets from the in-memory count of the show, loading it from the
+     * showtime collection first if needed. Returns false if not enough are left.
+     */
+    public boolean takeTickets(ShowKey show, int noOfTickets) {
+        SeatInventory inventory = getInventory(show);
+        if (inventory.getTicketsAvailable() == null) {
+            List<Showtime> shows = showtimeRepository.findByMovieNameAndTheatreName(show.movieName(),
+                    show.theatreName());
+            if (shows.isEmpty() && showtimeMigrationService.migrateShow(show)) {
+                shows = showtimeRepository.findByMovieNameAndTheatreName(show.movieName(), show.theatreName());
+            }
+            if (shows.isEmpty() || shows.get(0).getTicketsAvailable() == null) {
+                return false;
+            }
+            inventory.loadTicketsAvailable(shows.get(0).getTicketsAvailable());
+        }
+        return inventory.takeTickets(noOfTickets);
+    }
+
+    public void adjustTicketsAvailable(ShowKey show, int delta) {
+        SeatInventory inventory = inventories.get(show);
+        if (inventory != null) {
+            inventory.adjustTicketsAvailable(delta);
+        }
+    }
+
+    public void evict(String movieName) {
+        inventories.keySet().removeIf(key -> key.movieName().equals(movieName));
+    }
+
+    /**
+     * Adds the seats stored for the show to its inventory, if it is cached.
+     * Seats are only ever added, so holds and queued bookings of this node stay
+     * marked.
+     */
+    public void refresh(ShowKey show) {
+        SeatInventory inventory = inventories.get(show);
+        if (inventory != null) {
+            for (Ticket ticket : ticketRepository.findSeats(show.movieName(), show.theatreName())) {
+                inventory.markBooked(ticket.getSeats());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reelcritic.catalog.refresh-ms:30000}",
+            initialDelayString = "${reelcritic.catalog.refresh-ms:30000}")
+    void refreshInventories() {
+        try {
+            inventories.keySet().forEach(this::refresh);
+        } catch (Exception e) {
+            System.err.println("⚠️  Warning: Could not refresh seat inventories.");
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+
+    private SeatInventory loadInventory(ShowKey key) {
+        SeatInventory inventory = new SeatInventory();
+        for (Ticket ticket : ticketRepository.findSeats(key.movieName(), key.theatreName())) {
+            inventory.markBooked(ticket.getSeats());
+        }
+        return inventory;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.moviebookingapp.service;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.moviebookingapp.model.ShowKey;
+import com.moviebookingapp.model.Showtime;
+import com.moviebookingapp.model.TicketStatus;
+
+/**
+ * Moves the ticket counts still stored on movie documents into showtime
+ * documents, in batches walked by _id. The app keeps taking bookings while this
+ * runs: a show that is booked before its batch is reached is migrated on its
+ * own first, by {@link #migrateShow(ShowKey)}. Each movie is migrated with an
+ * upsert, so nodes running this at the same time cannot create a show twice.
+ */
+@Service
+@Order(5)
+public class ShowtimeMigrationService implements CommandLineRunner {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${reelcritic.migration.showtimes.batch-size:500}")
+    private int batchSize;
+
+    @Value("${reelcritic.booking.low-stock-threshold:20}")
+    private int lowStockThreshold;
+
+    @Override
+    public void run(String... args) throws Exception {
+        try {
+            long migrated = migrateTicketCounts();
+            if (migrated > 0) {
+                System.out.println("🕒 Migrated " + migrated + " movie ticket counts to showtimes");
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️  Warning: Could not migrate movie ticket counts to showtimes.");
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+
+    long migrateTicketCounts() {
+        long migrated = 0;
+        ObjectId lastId = null;
+        while (true) {
+            Criteria criteria = Criteria.where("ticketsAvailable").exists(true).and("deletedAt").exists(false);
+            if (lastId != null) {
+                criteria = criteria.and("_id").gt(lastId);
+            }
+            Query query = new Query(criteria).with(Sort.by("_id")).limit(batchSize);
+            query.fields().include("_id", "movieName", "theatreName", "ticketsAvailable");
+            List<Document> batch = mongoTemplate.find(query, Document.class, "movie");
+            if (batch.isEmpty()) {
+                return migrated;
+            }
+            for (Document movie : batch) {
+                migrate(movie);
+                migrated++;
+            }
+            lastId = batch.get(batch.size() - 1).getObjectId("_id");
+        }
+    }
+
+    /**
+     * Migrates one show ahead of the batch run. Returns whether its movie still
+     * had a ticket count to move.
+     */
+    public boolean migrateShow(ShowKey show) {
+        Query query = new Query(Criteria.where("movieName").is(show.movieName())
+                .and("theatreName").is(show.theatreName())
+                .and("ticketsAvailable").exists(true)
+                .and("deletedAt").exists(false));
+        query.fields().include("_id", "movieName", "theatreName", "ticketsAvailable");
+        Document movie = mongoTemplate.findOne(query, Document.class, "movie");
+        if (movie == null) {
+            return false;
+        }
+        migrate(movie);
+        return true;
+    }
+
+    private void migrate(Document movie) {
+        String movieName = movie.getString("movieName");
+        String theatreName = movie.getString("theatreName");
+        Integer ticketsAvailable = movie.getInteger("ticketsAvailable");
+        Update movieUpdate = new Update().unset("ticketsAvailable");
+        if (ticketsAvailable != null) {
+            String ticketStatus = TicketStatus.of(ticketsAvailable, lowStockThreshold);
+            Criteria show = Criteria.where("movieName").is(movieName).and("theatreName").is(theatreName);
+            Update update = new Update()
+                    .setOnInsert("movieId", movie.getObjectId("_id"))
+                    .setOnInsert("capacity", ticketsAvailable + ticketsBooked(show))
+                    .setOnInsert("ticketsAvailable", ticketsAvailable)
+                    .setOnInsert("ticketStatus", ticketStatus);
+            try {
+                mongoTemplate.upsert(new Query(show), update, Showtime.class);
+            } catch (DuplicateKeyException e) {
+                // Another node created the showtime first
+            }
+            movieUpdate.set("ticketStatus", ticketStatus);
+        }
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(movie.getObjectId("_id"))), movieUpdate,
+                "movie");
+    }
+
+    private int ticketsBooked(Criteria show) {
+        Document booked = mongoTemplate.aggregate(Aggregation.newAggregation(
+                Aggregation.match(show),
+                Aggregation.group().sum("noOfTickets").as("booked")), "ticket", Document.class)
+                .getUniqueMappedResult();
+        return booked != null ? booked.get("booked", Number.class).intValue() : 0;
+    }
+}
\ No newline at end of file
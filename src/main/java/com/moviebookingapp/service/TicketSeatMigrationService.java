@@ -0,0 +1,84 @@
+package com.moviebookingapp.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.moviebookingapp.model.SeatCode;
+
+/**
+ * Rewrites tickets stored with seatNumber label arrays into the packed seats
+ * form, in batches walked by _id. Tickets whose labels cannot be encoded are
+ * left as they are and still readable.
+ */
+@Service
+@Order(3)
+public class TicketSeatMigrationService implements CommandLineRunner {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${reelcritic.migration.ticket-seats.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void run(String... args) throws Exception {
+        try {
+            long migrated = migrateSeatNumbers();
+            if (migrated > 0) {
+                System.out.println("🎟️  Migrated " + migrated + " tickets to encoded seats");
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️  Warning: Could not migrate ticket seats.");
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+
+    long migrateSeatNumbers() {
+        long migrated = 0;
+        ObjectId lastId = null;
+        while (true) {
+            Criteria criteria = Criteria.where("seats").exists(false).and("seatNumber").exists(true);
+            if (lastId != null) {
+                criteria = criteria.and("_id").gt(lastId);
+            }
+            Query query = new Query(criteria).with(Sort.by("_id")).limit(batchSize);
+            query.fields().include("_id", "seatNumber");
+            List<Document> batch = mongoTemplate.find(query, Document.class, "ticket");
+            if (batch.isEmpty()) {
+                return migrated;
+            }
+
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, "ticket");
+            int updates = 0;
+            for (Document ticket : batch) {
+                try {
+                    int[] seats = SeatCode.encodeAll(ticket.getList("seatNumber", String.class));
+                    bulk.updateOne(new Query(Criteria.where("_id").is(ticket.getObjectId("_id"))),
+                            new Update().set("seats", Arrays.stream(seats).boxed().toList()).unset("seatNumber"));
+                    updates++;
+                } catch (IllegalArgumentException e) {
+                    System.err.println("⚠️  Skipping ticket " + ticket.getObjectId("_id") + ": " + e.getMessage());
+                }
+            }
+            if (updates > 0) {
+                migrated += bulk.execute().getModifiedCount();
+            }
+            lastId = batch.get(batch.size() - 1).getObjectId("_id");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.moviebookingapp.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import com.moviebookingapp.event.BookingEvent;
+import com.moviebookingapp.model.ShowKey;
+import com.moviebookingapp.model.Ticket;
+
+/**
+ * Books against the in-memory seat inventory and ticket count, then appends a
+ * booking event to Kafka instead of writing to MongoDB. The booking is only
+ * confirmed once Kafka has acknowledged the event.
+ */
+@Service
+public class WriteBehindBookingService {
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Value("${reelcritic.booking.events-topic:booking-events}")
+    private String topic;
+
+    @Value("${reelcritic.booking.events-send-timeout-ms:5000}")
+    private long sendTimeoutMillis;
+
+    /**
+     * Must be called holding the show's booking lock, after its seats have been
+     * checked. Returns null if the show has no tickets left.
+     */
+    public Ticket book(ShowKey show, Ticket ticket) {
+        if (!seatInventoryService.takeTickets(show, ticket.getNoOfTickets())) {
+            return null;
+        }
+        ticket.setTicketId(new ObjectId());
+        try {
+            kafkaTemplate.send(topic, show.movieName() + "/" + show.theatreName(), BookingEvent.of(ticket))
+                    .get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            seatInventoryService.adjustTicketsAvailable(show, ticket.getNoOfTickets());
+            throw new IllegalStateException("Could not record booking, please retry", e);
+        }
+        seatInventoryService.markBooked(ticket);
+        return ticket;
+    }
+}
\ No newline at end of file
@@ -1,21 +1,59 @@
 package com.moviebookingapp.service.impl;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import com.moviebookingapp.exception.InvalidBookingException;
+import com.moviebookingapp.exception.InvalidPageRequestException;
+import com.moviebookingapp.exception.MovieNotFoundException;
+import com.moviebookingapp.exception.SeatAlreadyBookedException;
 import com.moviebookingapp.model.Movie;
+import com.moviebookingapp.model.MovieSummary;
+import com.moviebookingapp.model.SeatCode;
+import com.moviebookingapp.model.ShowKey;
+import com.moviebookingapp.model.Showtime;
 import com.moviebookingapp.model.Ticket;
+import com.moviebookingapp.model.TicketStatus;
+import com.moviebookingapp.payload.response.BatchBookingResponse;
+import com.moviebookingapp.payload.response.BookingResult;
+import com.moviebookingapp.payload.response.FacetedMoviePage;
+import com.moviebookingapp.payload.response.MoviePage;
 import com.moviebookingapp.repository.MovieRepository;
+import com.moviebookingapp.repository.ShowtimeRepository;
 import com.moviebookingapp.repository.TicketRepository;
-import com.moviebookingapp.service.MockMovieService;
+import com.moviebookingapp.service.BookingLockManager;
+import com.moviebookingapp.service.CatalogSnapshot;
+import com.moviebookingapp.service.CatalogSnapshotService;
+import com.moviebookingapp.service.MovieCursor;
 import com.moviebookingapp.service.MovieService;
+import com.moviebookingapp.service.MovieSort;
+import com.moviebookingapp.service.SeatAssignmentService;
+import com.moviebookingapp.service.SeatInventoryService;
+import com.moviebookingapp.service.ShowtimeMigrationService;
+import com.moviebookingapp.service.WriteBehindBookingService;
 
 @Service
 public class MovieServiceImpl implements MovieService {
 
+    private static final String WRITE_BEHIND = "write-behind";
+
     @Autowired
     private MovieRepository movieRepository;
 
@@ -23,49 +61,421 @@ public class MovieServiceImpl implements MovieService {
     private TicketRepository ticketRepository;
 
     @Autowired
-    private MockMovieService mockMovieService;
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private ShowtimeMigrationService showtimeMigrationService;
+
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @Autowired
+    private BookingLockManager bookingLockManager;
+
+    @Autowired
+    private WriteBehindBookingService writeBehindBookingService;
+
+    @Autowired
+    private SeatAssignmentService seatAssignmentService;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Value("${reelcritic.booking.mode:direct}")
+    private String bookingMode;
+
+    @Value("${reelcritic.booking.low-stock-threshold:20}")
+    private int lowStockThreshold;
+
+    @Value("${reelcritic.catalog.page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${reelcritic.catalog.max-page-size:100}")
+    private int maxPageSize;
 
     @Override
     public Movie addMovie(Movie movie) {
-        return movieRepository.save(movie);
+        Integer ticketsAvailable = movie.getTicketsAvailable();
+        movie.setTicketStatus(TicketStatus.of(ticketsAvailable, lowStockThreshold));
+        if (ticketsAvailable != null) {
+            // The showtime goes first, so a show that already exists leaves no movie behind
+            if (movie.getMovieId() == null) {
+                movie.setMovieId(new ObjectId());
+            }
+            showtimeRepository.insert(new Showtime(movie, ticketsAvailable, ticketsAvailable,
+                    movie.getTicketStatus()));
+        }
+        Movie savedMovie = movieRepository.save(movie);
+        catalogSnapshotService.upsert(savedMovie);
+        return savedMovie;
     }
 
     @Override
     public List<Movie> getAllMovies() {
-        try {
-            return movieRepository.findAll();
-        } catch (Exception e) {
-            // Fallback to mock service when MongoDB is not available
-            // MongoDB not available, using mock data service
-            return mockMovieService.getAllMovies();
+        return catalogSnapshotService.getAllMovies();
+    }
+
+    @Override
+    public List<MovieSummary> getAllMovieSummaries() {
+        return catalogSnapshotService.getAllMovieSummaries();
+    }
+
+    @Override
+    public MoviePage<Movie> getMoviePage(String sort, String order, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        MovieCursor position = pagePosition(sort, order, cursor);
+        // One extra row tells whether there is a next page
+        List<Movie> movies = new ArrayList<>(movieRepository.findPage(position.sort().getField(),
+                position.descending(), position.lastValue(), position.lastId(), pageSize + 1));
+        String nextCursor = null;
+        if (movies.size() > pageSize) {
+            movies.remove(pageSize);
+            nextCursor = MovieCursor.after(position.sort(), position.descending(), movies.get(pageSize - 1)).encode();
+        }
+        return new MoviePage<>(movies, nextCursor);
+    }
+
+    @Override
+    public MoviePage<MovieSummary> getMovieSummaryPage(String sort, String order, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        MovieCursor position = pagePosition(sort, order, cursor);
+        List<MovieSummary> movies = new ArrayList<>(movieRepository.findSummaryPage(position.sort().getField(),
+                position.descending(), position.lastValue(), position.lastId(), pageSize + 1));
+        String nextCursor = null;
+        if (movies.size() > pageSize) {
+            movies.remove(pageSize);
+            nextCursor = MovieCursor.after(position.sort(), position.descending(), movies.get(pageSize - 1)).encode();
+        }
+        return new MoviePage<>(movies, nextCursor);
+    }
+
+    private int pageSize(Integer size) {
+        int pageSize = Math.min(size != null ? size : defaultPageSize, maxPageSize);
+        if (pageSize < 1) {
+            throw new InvalidPageRequestException("Page size must be at least 1");
+        }
+        return pageSize;
+    }
+
+    /**
+     * Where the requested page starts: after the cursor's movie, or at the start of
+     * the requested order when there is no cursor.
+     */
+    private MovieCursor pagePosition(String sort, String order, String cursor) {
+        MovieCursor after = null;
+        if (cursor != null) {
+            after = MovieCursor.decode(cursor);
+            if (after == null) {
+                throw new InvalidPageRequestException("Invalid cursor");
+            }
+        }
+        MovieSort movieSort = MovieSort.fromParam(sort);
+        if (movieSort == null) {
+            throw new InvalidPageRequestException("Cannot sort movies by " + sort);
+        }
+        boolean descending = order != null ? "desc".equalsIgnoreCase(order) : movieSort.isDescendingByDefault();
+        if (after == null) {
+            return new MovieCursor(movieSort, descending, null, null);
+        }
+        // The cursor carries its own order; sort and order only need to be given on the first page
+        if ((sort != null || order != null) && (after.sort() != movieSort || after.descending() != descending)) {
+            throw new InvalidPageRequestException("Cursor was issued for a different sort order");
+        }
+        return after;
+    }
+
+    @Override
+    public FacetedMoviePage filterMovies(Map<String, List<String>> filters, int page, int size) {
+        CatalogSnapshot snapshot = catalogSnapshotService.getSnapshot();
+        BitSet matching = snapshot.facets().filter(filters);
+        List<MovieSummary> movies = new ArrayList<>(size);
+        int skip = page * size;
+        for (int ordinal = matching.nextSetBit(0); ordinal >= 0 && movies.size() < size;
+                ordinal = matching.nextSetBit(ordinal + 1)) {
+            if (skip > 0) {
+                skip--;
+            } else {
+                movies.add(snapshot.summaries().get(ordinal));
+            }
         }
+        return new FacetedMoviePage(movies, page, size, matching.cardinality(), snapshot.facets().counts(filters));
+    }
+
+    @Override
+    public Movie getMovieById(ObjectId movieId) {
+        return movieRepository.findById(movieId)
+                .filter(movie -> movie.getDeletedAt() == null)
+                .orElseThrow(() -> new MovieNotFoundException("Movie not found: " + movieId));
     }
 
     @Override
     public List<Movie> getMovieByName(String movieName) {
-        try {
-            return movieRepository.findByMovieName(movieName);
-        } catch (Exception e) {
-            // Fallback to mock service when MongoDB is not available
-            // MongoDB not available, using mock data service
-            return mockMovieService.searchMovies(movieName);
+        return catalogSnapshotService.findByMovieName(movieName);
+    }
+
+    @Override
+    public List<String> suggestMovieNames(String prefix, int limit) {
+        return catalogSnapshotService.getSnapshot().autocomplete().suggest(prefix, limit);
+    }
+
+    @Override
+    public List<MovieSummary> getMovieSummariesByName(String movieName) {
+        return getMovieByName(movieName).stream().map(MovieSummary::of).toList();
+    }
+
+    @Override
+    public List<Showtime> findShowtimes(String movieName, String theatreName) {
+        List<Showtime> showtimes = showtimeRepository.findByMovieNameAndTheatreName(movieName, theatreName);
+        if (showtimes.isEmpty() && showtimeMigrationService.migrateShow(new ShowKey(movieName, theatreName))) {
+            showtimes = showtimeRepository.findByMovieNameAndTheatreName(movieName, theatreName);
         }
+        return showtimes;
+    }
+
+    @Override
+    public List<Showtime> getShowtimes(ObjectId movieId) {
+        return showtimeRepository.findByMovieId(movieId);
     }
 
+    /**
+     * Copies each showtime's ticketStatus to its movie. Movies that already have
+     * that status are not written, so the catalog only changes when a show
+     * crosses a status threshold.
+     */
     @Override
-    public List<Movie> findAvailableTickets(String movieName, String theatreName) {
-        return movieRepository.findAvailableTickets(movieName, theatreName);
+    public void syncTicketStatus(Collection<Showtime> showtimes) {
+        for (Showtime showtime : showtimes) {
+            Movie movie = movieRepository.updateTicketStatus(showtime.getMovieName(), showtime.getTheatreName(),
+                    showtime.getTicketStatus());
+            if (movie != null) {
+                catalogSnapshotService.upsert(movie);
+            }
+        }
     }
 
     @Override
     public boolean deleteMovieByName(String movieName) {
-        movieRepository.deleteByMovieName(movieName);
+        // Tickets and reviews are purged in the background by MoviePurgeService
+        movieRepository.markDeleted(movieName, Instant.now());
+        showtimeRepository.deleteByMovieName(movieName);
+        seatInventoryService.evict(movieName);
+        catalogSnapshotService.removeByMovieName(movieName);
         return true;
     }
 
     @Override
     public Ticket addTicket(Ticket ticket) {
-        return ticketRepository.save(ticket);
+        Ticket savedTicket = ticketRepository.save(ticket);
+        seatInventoryService.markBooked(savedTicket);
+        return savedTicket;
+    }
+
+    /**
+     * The show is the one named in the path, so a ticket naming another movie is
+     * rejected. The ticket count must be positive and, when seats are given, match
+     * them, with no seat named twice.
+     */
+    @Override
+    public void validateBooking(String movieName, Ticket ticket) {
+        if (ticket.getMovieName() != null && !ticket.getMovieName().equalsIgnoreCase(movieName)) {
+            throw new InvalidBookingException("Ticket is for " + ticket.getMovieName() + ", not " + movieName);
+        }
+        ticket.setMovieName(movieName);
+        if (ticket.getNoOfTickets() == null || ticket.getNoOfTickets() <= 0) {
+            throw new InvalidBookingException("Number of tickets must be at least 1");
+        }
+        if (ticket.getSeats() != null && ticket.getSeats().length > 0
+                && ticket.getSeats().length != ticket.getNoOfTickets()) {
+            throw new InvalidBookingException("Number of tickets does not match the seat numbers");
+        }
+        if (ticket.getSeats() != null
+                && Arrays.stream(ticket.getSeats()).distinct().count() != ticket.getSeats().length) {
+            throw new InvalidBookingException("A seat number is given more than once");
+        }
+    }
+
+    @Override
+    public Ticket bookTicket(String movieName, Ticket ticket) {
+        validateBooking(movieName, ticket);
+        return bookingLockManager.withLock(new ShowKey(movieName, ticket.getTheatreName()), () -> {
+            if (ticket.getSeats() == null || ticket.getSeats().length == 0) {
+                List<String> bestSeats = seatAssignmentService.findBestSeats(movieName, ticket.getTheatreName(),
+                        ticket.getNoOfTickets());
+                if (bestSeats == null) {
+                    throw new SeatAlreadyBookedException(
+                            ticket.getNoOfTickets() + " adjacent seats are not available for " + movieName);
+                }
+                ticket.setSeatNumber(bestSeats);
+            }
+            String bookedSeat = findBookedSeat(movieName, ticket.getTheatreName(), ticket.getSeats());
+            if (bookedSeat != null) {
+                throw new SeatAlreadyBookedException("Seat number " + bookedSeat + " is already booked!");
+            }
+            return confirmBooking(movieName, ticket);
+        });
+    }
+
+    @Override
+    public Ticket confirmBooking(String movieName, Ticket ticket) {
+        if (WRITE_BEHIND.equals(bookingMode)) {
+            return writeBehindBookingService.book(new ShowKey(movieName, ticket.getTheatreName()), ticket);
+        }
+        if (updateAvailableTickets(movieName, ticket.getTheatreName(), ticket.getNoOfTickets()) == null) {
+            return null;
+        }
+        try {
+            return addTicket(ticket);
+        } catch (RuntimeException e) {
+            restoreAvailableTickets(movieName, ticket.getTheatreName(), ticket.getNoOfTickets());
+            if (e instanceof DuplicateKeyException) {
+                throw seatTakenElsewhere(List.of(ticket));
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A seat was free in this node's inventory but the unique seat index found it
+     * sold, so another node booked it. The inventories of the shows are refreshed
+     * before reporting the seat.
+     */
+    private SeatAlreadyBookedException seatTakenElsewhere(List<Ticket> tickets) {
+        Set<ShowKey> shows = new LinkedHashSet<>();
+        tickets.forEach(ticket -> shows.add(new ShowKey(ticket.getMovieName(), ticket.getTheatreName())));
+        shows.forEach(seatInventoryService::refresh);
+        for (Ticket ticket : tickets) {
+            String bookedSeat = findBookedSeat(ticket.getMovieName(), ticket.getTheatreName(), ticket.getSeats());
+            if (bookedSeat != null) {
+                return new SeatAlreadyBookedException("Seat number " + bookedSeat + " is already booked!");
+            }
+        }
+        return new SeatAlreadyBookedException("One of the seats is already booked!");
+    }
+
+    @Override
+    public BatchBookingResponse bookTicketBatch(List<Ticket> tickets) {
+        if (tickets.isEmpty()) {
+            return new BatchBookingResponse(false, "No tickets were requested", List.of());
+        }
+        Map<ShowKey, Integer> ticketsByShow = new LinkedHashMap<>();
+        for (Ticket ticket : tickets) {
+            ticketsByShow.merge(new ShowKey(ticket.getMovieName(), ticket.getTheatreName()),
+                    ticket.getNoOfTickets() != null ? ticket.getNoOfTickets() : 0, Integer::sum);
+        }
+        return bookingLockManager.withLocks(ticketsByShow.keySet(), () -> {
+            List<BookingResult> results = validateBatch(tickets, ticketsByShow);
+            if (results.stream().anyMatch(result -> BookingResult.REJECTED.equals(result.getStatus()))) {
+                return new BatchBookingResponse(false, "No tickets were booked", results);
+            }
+
+            // Every show is locked and its count was checked above, so the guarded
+            // decrements can only miss if another node sold the same tickets meanwhile.
+            List<Showtime> showtimes = showtimeRepository.decrementTicketsAvailable(ticketsByShow);
+            if (showtimes == null) {
+                throw new IllegalStateException("Ticket availability changed while booking, please retry");
+            }
+            // Ids are assigned up front so the tickets of an insert that fails partway can be removed
+            List<ObjectId> ticketIds = new ArrayList<>();
+            for (Ticket ticket : tickets) {
+                ticket.setTicketId(new ObjectId());
+                ticketIds.add(ticket.getTicketId());
+            }
+            List<Ticket> savedTickets;
+            try {
+                savedTickets = ticketRepository.insert(tickets);
+            } catch (RuntimeException e) {
+                ticketRepository.deleteAllById(ticketIds);
+                showtimeRepository.adjustTicketsAvailable(ticketsByShow);
+                if (e instanceof DuplicateKeyException) {
+                    throw seatTakenElsewhere(tickets);
+                }
+                throw e;
+            }
+            syncTicketStatus(showtimes);
+            ticketsByShow.forEach((show, noOfTickets) -> seatInventoryService.adjustTicketsAvailable(show,
+                    -noOfTickets));
+
+            for (int i = 0; i < savedTickets.size(); i++) {
+                Ticket savedTicket = savedTickets.get(i);
+                seatInventoryService.markBooked(savedTicket);
+                results.get(i).setTicketId(savedTicket.getTicketId().toString());
+                results.get(i).setStatus(BookingResult.BOOKED);
+            }
+            return new BatchBookingResponse(true, "Tickets Booked Successfully!", results);
+        });
+    }
+
+    /**
+     * Checks a batch ticket against the rules single bookings follow, and
+     * requires seats since a batch does not assign them.
+     */
+    private String batchBookingProblem(Ticket ticket) {
+        try {
+            validateBooking(ticket.getMovieName(), ticket);
+        } catch (InvalidBookingException e) {
+            return e.getMessage();
+        }
+        if (ticket.getSeatNumber() == null || ticket.getSeatNumber().isEmpty()) {
+            return "Seat numbers are required";
+        }
+        return null;
+    }
+
+    private List<BookingResult> validateBatch(List<Ticket> tickets, Map<ShowKey, Integer> ticketsByShow) {
+        Map<ShowKey, Integer> ticketsAvailable = new HashMap<>();
+        for (Showtime showtime : findShows(ticketsByShow.keySet())) {
+            ShowKey show = new ShowKey(showtime.getMovieName(), showtime.getTheatreName());
+            // In write-behind mode the stored count lags behind queued bookings, so
+            // the in-memory count is the tighter bound
+            Integer inMemory = seatInventoryService.getInventory(show).getTicketsAvailable();
+            ticketsAvailable.putIfAbsent(show, inMemory != null
+                    ? Math.min(inMemory, showtime.getTicketsAvailable())
+                    : showtime.getTicketsAvailable());
+        }
+
+        Map<ShowKey, Set<Integer>> seatsInBatch = new HashMap<>();
+        List<BookingResult> results = new ArrayList<>();
+        for (Ticket ticket : tickets) {
+            ShowKey show = new ShowKey(ticket.getMovieName(), ticket.getTheatreName());
+            String problem = batchBookingProblem(ticket);
+            if (problem == null) {
+                if (!ticketsAvailable.containsKey(show)) {
+                    problem = "Movie not found: " + ticket.getMovieName();
+                } else if (ticketsAvailable.get(show) < ticketsByShow.get(show)) {
+                    problem = "All Tickets Sold Out!";
+                } else {
+                    String bookedSeat = findBookedSeat(show.movieName(), show.theatreName(), ticket.getSeats());
+                    if (bookedSeat != null) {
+                        problem = "Seat number " + bookedSeat + " is already booked!";
+                    }
+                    Set<Integer> claimedSeats = seatsInBatch.computeIfAbsent(show, key -> new HashSet<>());
+                    for (int seat : ticket.getSeats()) {
+                        if (!claimedSeats.add(seat) && problem == null) {
+                            problem = "Seat number " + SeatCode.decode(seat) + " is requested more than once!";
+                        }
+                    }
+                }
+            }
+            results.add(new BookingResult(null, ticket.getMovieName(), ticket.getTheatreName(),
+                    ticket.getSeatNumber(), problem == null ? BookingResult.NOT_BOOKED : BookingResult.REJECTED,
+                    problem));
+        }
+        return results;
+    }
+
+    // Shows whose movie still holds its ticket count are migrated first
+    private List<Showtime> findShows(Set<ShowKey> shows) {
+        List<Showtime> showtimes = showtimeRepository.findShows(shows);
+        Set<ShowKey> found = showtimes.stream()
+                .map(showtime -> new ShowKey(showtime.getMovieName(), showtime.getTheatreName()))
+                .collect(Collectors.toSet());
+        boolean migrated = false;
+        for (ShowKey show : shows) {
+            if (!found.contains(show)) {
+                migrated |= showtimeMigrationService.migrateShow(show);
+            }
+        }
+        return migrated ? showtimeRepository.findShows(shows) : showtimes;
     }
 
     @Override
@@ -78,11 +488,38 @@ public class MovieServiceImpl implements MovieService {
         return ticketRepository.findSeats(movieName, theatrename);
     }
 
-    public boolean updateAvailableTickets(String movieName, String theatreName, Integer noOfTickets) {
-        ObjectId objectId = findAvailableTickets(movieName, theatreName).get(0).getMovieId();
-        Movie movie = new Movie(objectId, movieName, theatreName,
-                findAvailableTickets(movieName, theatreName).get(0).getTicketsAvailable() - noOfTickets);
-        addMovie(movie);
-        return true;
+    @Override
+    public String findBookedSeat(String movieName, String theatreName, int[] seats) {
+        return seatInventoryService.findBookedSeat(movieName, theatreName, seats);
+    }
+
+    @Override
+    public Integer updateAvailableTickets(String movieName, String theatreName, Integer noOfTickets) {
+        Showtime showtime = showtimeRepository.decrementTicketsAvailable(movieName, theatreName, noOfTickets);
+        if (showtime == null) {
+            return null;
+        }
+        seatInventoryService.adjustTicketsAvailable(new ShowKey(movieName, theatreName), -noOfTickets);
+        onTicketsChanged(showtime, -noOfTickets);
+        return showtime.getTicketsAvailable();
+    }
+
+    @Override
+    public Integer restoreAvailableTickets(String movieName, String theatreName, Integer noOfTickets) {
+        Showtime showtime = showtimeRepository.incrementTicketsAvailable(movieName, theatreName, noOfTickets);
+        if (showtime == null) {
+            return null;
+        }
+        seatInventoryService.adjustTicketsAvailable(new ShowKey(movieName, theatreName), noOfTickets);
+        onTicketsChanged(showtime, noOfTickets);
+        return showtime.getTicketsAvailable();
+    }
+
+    // Most bookings leave the status as it was and never touch the movie document
+    private void onTicketsChanged(Showtime showtime, int delta) {
+        String previousStatus = TicketStatus.of(showtime.getTicketsAvailable() - delta, lowStockThreshold);
+        if (!previousStatus.equals(showtime.getTicketStatus())) {
+            syncTicketStatus(List.of(showtime));
+        }
     }
 }
\ No newline at end of file
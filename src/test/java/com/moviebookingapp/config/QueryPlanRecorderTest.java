@@ -0,0 +1,100 @@
+package com.moviebookingapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+
+class QueryPlanRecorderTest {
+
+    private static final ConnectionDescription CONNECTION = new ConnectionDescription(
+            new ServerId(new ClusterId(), new ServerAddress()));
+
+    private final QueryPlanRecorder recorder = new QueryPlanRecorder();
+
+    private void send(String commandName, String json) {
+        recorder.commandStarted(new CommandStartedEvent(null, 1, 1, CONNECTION, "ReelCritic", commandName,
+                BsonDocument.parse(json)));
+    }
+
+    @Test
+    void keepsOneQueryPerShapeWhateverTheValues() {
+        send("find", "{find: 'movie', filter: {movieName: 'Inception', theatreName: 'PVR'}}");
+        send("find", "{find: 'movie', filter: {movieName: 'Tenet', theatreName: 'INOX'}}");
+        send("find", "{find: 'movie', filter: {movieName: 'Tenet'}}");
+
+        List<QueryPlanRecorder.RecordedQuery> queries = recorder.takeUnverified();
+
+        assertThat(queries).extracting(QueryPlanRecorder.RecordedQuery::filter).containsExactly(
+                new Document("movieName", "Inception").append("theatreName", "PVR"),
+                new Document("movieName", "Tenet"));
+        assertThat(recorder.takeUnverified()).isEmpty();
+    }
+
+    @Test
+    void sortIsPartOfTheShape() {
+        send("find", "{find: 'movie', filter: {deletedAt: null}, sort: {rating: -1, _id: -1}}");
+        send("find", "{find: 'movie', filter: {deletedAt: null}, sort: {releaseDate: -1, _id: -1}}");
+
+        assertThat(recorder.takeUnverified()).extracting(QueryPlanRecorder.RecordedQuery::sort).containsExactly(
+                new Document("rating", -1).append("_id", -1),
+                new Document("releaseDate", -1).append("_id", -1));
+    }
+
+    @Test
+    void anOrOverManyShowsHasTheShapeOfAnOrOverOne() {
+        send("find", "{find: 'showtime', filter: {$or: [{movieName: 'A', theatreName: 'X'}]}}");
+        send("find", "{find: 'showtime', filter: {$or: [{movieName: 'A', theatreName: 'X'},"
+                + " {movieName: 'B', theatreName: 'Y'}, {movieName: 'C', theatreName: 'Z'}]}}");
+
+        assertThat(recorder.takeUnverified()).hasSize(1);
+    }
+
+    @Test
+    void skipsEmptyFiltersAndFullReads() {
+        send("find", "{find: 'movie', filter: {}}");
+        send("count", "{count: 'movie', query: {}}");
+        send("find", "{find: 'movie', filter: {deletedAt: null}, comment: 'full-read'}");
+        send("insert", "{insert: 'movie', documents: [{movieName: 'Inception'}]}");
+
+        assertThat(recorder.takeUnverified()).isEmpty();
+    }
+
+    @Test
+    void recordsEachStatementOfABulkWrite() {
+        ObjectId ticketId = new ObjectId();
+        send("update", "{update: 'showtime', updates: ["
+                + "{q: {movieName: 'A', theatreName: 'X'}, u: {$inc: {ticketsAvailable: -1}}},"
+                + "{q: {_id: {$oid: '" + ticketId.toHexString() + "'}}, u: {$set: {seats: []}}}]}");
+
+        List<QueryPlanRecorder.RecordedQuery> queries = recorder.takeUnverified();
+
+        assertThat(queries).extracting(QueryPlanRecorder.RecordedQuery::collection).containsOnly("showtime");
+        assertThat(queries).extracting(QueryPlanRecorder.RecordedQuery::filter).containsExactly(
+                new Document("movieName", "A").append("theatreName", "X"),
+                new Document("_id", ticketId));
+    }
+
+    @Test
+    void aggregationsAreCheckedByTheirLeadingMatchAndSort() {
+        send("aggregate", "{aggregate: 'review', pipeline: [{$match: {movie: 'x'}}, {$sort: {createdDate: -1}},"
+                + " {$group: {_id: null, total: {$sum: 1}}}], cursor: {}}");
+        send("aggregate", "{aggregate: 'review', pipeline: [{$group: {_id: '$movie'}}], cursor: {}}");
+
+        List<QueryPlanRecorder.RecordedQuery> queries = recorder.takeUnverified();
+
+        assertThat(queries).hasSize(1);
+        assertThat(queries.get(0).filter()).isEqualTo(new Document("movie", "x"));
+        assertThat(queries.get(0).sort()).isEqualTo(new Document("createdDate", -1));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.moviebookingapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.moviebookingapp.model.AuditoriumLayout;
+import com.moviebookingapp.model.Movie;
+import com.moviebookingapp.model.Review;
+import com.moviebookingapp.model.Role;
+import com.moviebookingapp.model.ShowKey;
+import com.moviebookingapp.model.Showtime;
+import com.moviebookingapp.model.Ticket;
+import com.moviebookingapp.model.User;
+import com.moviebookingapp.model.UserRole;
+import com.moviebookingapp.repository.AuditoriumLayoutRepository;
+import com.moviebookingapp.repository.IdempotencyRecordRepository;
+import com.moviebookingapp.repository.MovieRepository;
+import com.moviebookingapp.repository.ReviewRepository;
+import com.moviebookingapp.repository.RoleRepository;
+import com.moviebookingapp.repository.ShowtimeRepository;
+import com.moviebookingapp.repository.TicketRepository;
+import com.moviebookingapp.repository.UserRepository;
+
+/**
+ * Starts the application against a real MongoDB and runs every repository
+ * query through explain: derived finders, {@code @Query} methods and the
+ * custom fragments. The build fails when any of them plans a collection scan.
+ *
+ * verify=fail also makes the context fail to start when a query issued during
+ * startup, such as the migrations and the catalog load, scans a collection.
+ * Needs Docker; the test is skipped where Docker is not available.
+ */
+@SpringBootTest(properties = {
+        "reelcritic.indexes.verify=fail",
+        "reelcritic.indexes.retry-ms=3600000" })
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanVerificationTest {
+
+    private static final String MOVIE = "Inception";
+    private static final String THEATRE = "PVR";
+
+    @Container
+    @ServiceConnection
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @Autowired
+    private MongoIndexRegistry mongoIndexRegistry;
+
+    @Autowired
+    private QueryPlanRecorder queryPlanRecorder;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private ShowtimeRepository showtimeRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private AuditoriumLayoutRepository auditoriumLayoutRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Test
+    void everyRepositoryQueryUsesAnIndex() {
+        Movie movie = movieRepository.save(new Movie(MOVIE, THEATRE, 0, "Now Showing"));
+        Showtime showtime = new Showtime(movie, 100, 100, "BOOK ASAP");
+        showtime.setStartTime(LocalDateTime.now());
+        showtimeRepository.save(showtime);
+        User user = userRepository.save(new User("critic", "Film", "Critic", "critic@example.com", 1234567890L,
+                "secret"));
+        Review review = reviewRepository.save(new Review(user, movie, 4.0, "Layered", "Worth a second watch"));
+        Ticket ticket = new Ticket(new ObjectId(), user.getUsername(), MOVIE, THEATRE, 2, null);
+        ticket.setSeats(new int[] { 1, 2 });
+        ticketRepository.insertIgnoringDuplicates(List.of(ticket));
+
+        movieRepository.markDeleted("Tenet", Instant.now());
+        movieRepository.updateTicketStatus(MOVIE, THEATRE, "BOOK ASAP");
+        movieRepository.applyRatingChange(movie.getMovieId(), 4.0, 1);
+        movieRepository.repairRatingAggregates(movie.getMovieId());
+        movieRepository.repairRatingAggregates();
+        movieRepository.incrementReviewVersion(movie.getMovieId());
+        movieRepository.findPage("rating", true, null, null, 10);
+        movieRepository.findPage("rating", true, 4.0, movie.getMovieId(), 10);
+        movieRepository.findPage("releaseDate", true, null, null, 10);
+        movieRepository.findSummaryPage("rating", true, 4.0, movie.getMovieId(), 10);
+
+        ShowKey show = new ShowKey(MOVIE, THEATRE);
+        showtimeRepository.findByMovieNameAndTheatreName(MOVIE, THEATRE);
+        showtimeRepository.findByMovieId(movie.getMovieId());
+        showtimeRepository.findByMovieName(MOVIE);
+        showtimeRepository.decrementTicketsAvailable(MOVIE, THEATRE, 1);
+        showtimeRepository.incrementTicketsAvailable(MOVIE, THEATRE, 1);
+        showtimeRepository.findShows(Set.of(show));
+        showtimeRepository.decrementTicketsAvailable(Map.of(show, 1));
+        showtimeRepository.adjustTicketsAvailable(Map.of(show, 1));
+        showtimeRepository.takeTicketsOnce(List.of(ticket));
+        showtimeRepository.forgetCountedTickets(List.of(ticket));
+        showtimeRepository.refreshTicketStatus(MOVIE);
+        showtimeRepository.deleteByMovieName("Tenet");
+
+        ticketRepository.findSeats(MOVIE, THEATRE);
+        ticketRepository.findByMovieName(MOVIE);
+        ticketRepository.findByTicketId(ticket.getTicketId());
+        ticketRepository.findCountPending(List.of(ticket.getTicketId()));
+        ticketRepository.clearCountPending(List.of(ticket.getTicketId()));
+
+        reviewRepository.existsByUserAndMovie(user, movie);
+        reviewRepository.countByMovie(movie);
+        reviewRepository.findPageByMovie(movie, null, null, 10);
+        reviewRepository.findPageByMovie(movie, review.getCreatedDate(), review.getReviewId(), 10);
+        reviewRepository.findPageByUser(user, review.getCreatedDate(), review.getReviewId(), 10);
+
+        userRepository.findByUsername("critic");
+        userRepository.existsByUsername("critic");
+        userRepository.existsByEmail("critic@example.com");
+        roleRepository.findByRole(UserRole.USER);
+        roleRepository.save(new Role(UserRole.GUEST));
+
+        auditoriumLayoutRepository.findByTheatreName(THEATRE);
+        auditoriumLayoutRepository.findByTheatreNameIn(List.of(THEATRE));
+        auditoriumLayoutRepository.save(layout());
+        idempotencyRecordRepository.findById("booking:critic:key");
+        idempotencyRecordRepository.deleteByKeyAndCreatedAt("booking:critic:key", new Date());
+
+        List<QueryPlanRecorder.RecordedQuery> queries = queryPlanRecorder.takeUnverified();
+        assertThat(queries).isNotEmpty();
+        assertThat(mongoIndexRegistry.findCollectionScans(queries)).isEmpty();
+    }
+
+    private AuditoriumLayout layout() {
+        AuditoriumLayout layout = new AuditoriumLayout();
+        layout.setTheatreName(THEATRE);
+        layout.setRows(10);
+        layout.setSeatsPerRow(20);
+        return layout;
+    }
+}
\ No newline at end of file
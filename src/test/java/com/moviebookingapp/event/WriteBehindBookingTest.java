@@ -0,0 +1,200 @@
+package com.moviebookingapp.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.moviebookingapp.model.ShowKey;
+import com.moviebookingapp.model.Showtime;
+import com.moviebookingapp.model.Ticket;
+import com.moviebookingapp.repository.ShowtimeRepository;
+import com.moviebookingapp.repository.TicketRepository;
+import com.moviebookingapp.service.MovieService;
+import com.moviebookingapp.service.SeatInventoryService;
+import com.moviebookingapp.service.ShowtimeMigrationService;
+import com.moviebookingapp.service.WriteBehindBookingService;
+
+/**
+ * Books through the write-behind path against an embedded Kafka broker. The
+ * repositories are backed by in-memory maps that follow the Mongo semantics the
+ * consumer relies on: duplicate ticket ids are skipped on insert, and a ticket
+ * already in a showtime's countedTickets is not counted again.
+ *
+ * The consumer is made to fail once partway through a poll; the container then
+ * hands the same batch to the listener again, as Kafka would after a crash.
+ */
+@SpringBootTest(classes = WriteBehindBookingTest.TestConfig.class, properties = {
+        "reelcritic.booking.mode=write-behind",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}" })
+@EmbeddedKafka(partitions = 1, topics = "booking-events")
+class WriteBehindBookingTest {
+
+    private static final String MOVIE = "Inception";
+    private static final int CAPACITY = 100;
+
+    @Configuration
+    @ImportAutoConfiguration(KafkaAutoConfiguration.class)
+    @Import({ WriteBehindBookingService.class, BookingEventConsumer.class, SeatInventoryService.class })
+    static class TestConfig {
+    }
+
+    @Autowired
+    private WriteBehindBookingService writeBehindBookingService;
+
+    @MockitoBean
+    private TicketRepository ticketRepository;
+
+    @MockitoBean
+    private ShowtimeRepository showtimeRepository;
+
+    @MockitoBean
+    private ShowtimeMigrationService showtimeMigrationService;
+
+    @MockitoBean
+    private MovieService movieService;
+
+    private final Map<ObjectId, Ticket> storedTickets = new ConcurrentHashMap<>();
+    private final Map<ShowKey, Showtime> storedShowtimes = new ConcurrentHashMap<>();
+    private final AtomicBoolean failTakingCounts = new AtomicBoolean();
+    private final AtomicBoolean failClearingFlags = new AtomicBoolean();
+
+    @BeforeEach
+    void inMemoryRepositories() {
+        when(ticketRepository.findSeats(anyString(), anyString())).thenReturn(List.of());
+        when(ticketRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> {
+            List<Ticket> inserted = new ArrayList<>();
+            for (Ticket ticket : invocation.<List<Ticket>>getArgument(0)) {
+                if (storedTickets.putIfAbsent(ticket.getTicketId(), ticket) == null) {
+                    inserted.add(ticket);
+                }
+            }
+            return inserted;
+        });
+        when(ticketRepository.findCountPending(anyCollection())).thenAnswer(invocation -> invocation
+                .<Collection<ObjectId>>getArgument(0).stream()
+                .map(storedTickets::get)
+                .filter(ticket -> ticket != null && Boolean.TRUE.equals(ticket.getCountPending()))
+                .toList());
+        doAnswer(invocation -> {
+            if (failClearingFlags.getAndSet(false)) {
+                throw new IllegalStateException("Consumer crashed after taking the counts");
+            }
+            invocation.<Collection<ObjectId>>getArgument(0)
+                    .forEach(ticketId -> storedTickets.get(ticketId).setCountPending(null));
+            return null;
+        }).when(ticketRepository).clearCountPending(anyCollection());
+
+        when(showtimeRepository.findByMovieNameAndTheatreName(anyString(), anyString())).thenAnswer(invocation -> {
+            Showtime showtime = storedShowtimes.get(new ShowKey(invocation.getArgument(0), invocation.getArgument(1)));
+            return showtime != null ? List.of(showtime) : List.of();
+        });
+        doAnswer(invocation -> {
+            if (failTakingCounts.getAndSet(false)) {
+                throw new IllegalStateException("Consumer crashed after inserting the tickets");
+            }
+            for (Ticket ticket : invocation.<List<Ticket>>getArgument(0)) {
+                Showtime showtime = showtimeOf(ticket);
+                synchronized (showtime) {
+                    if (!showtime.getCountedTickets().contains(ticket.getTicketId())) {
+                        showtime.setTicketsAvailable(showtime.getTicketsAvailable() - ticket.getNoOfTickets());
+                        showtime.getCountedTickets().add(ticket.getTicketId());
+                    }
+                }
+            }
+            return null;
+        }).when(showtimeRepository).takeTicketsOnce(anyList());
+        doAnswer(invocation -> {
+            for (Ticket ticket : invocation.<List<Ticket>>getArgument(0)) {
+                Showtime showtime = showtimeOf(ticket);
+                synchronized (showtime) {
+                    showtime.getCountedTickets().remove(ticket.getTicketId());
+                }
+            }
+            return null;
+        }).when(showtimeRepository).forgetCountedTickets(anyList());
+        when(showtimeRepository.findShows(any())).thenReturn(List.of());
+    }
+
+    @Test
+    void countsTicketsInsertedBeforeACrash() throws InterruptedException {
+        ShowKey show = addShow("Crash After Insert");
+        failTakingCounts.set(true);
+
+        List<Ticket> tickets = List.of(book(show, "A1", "A2"), book(show, "A3"));
+
+        awaitTrue(() -> !failTakingCounts.get() && pendingTickets() == 0
+                && tickets.stream().allMatch(ticket -> storedTickets.containsKey(ticket.getTicketId())));
+        assertThat(storedShowtimes.get(show).getTicketsAvailable()).isEqualTo(CAPACITY - 3);
+        assertThat(storedShowtimes.get(show).getCountedTickets()).isEmpty();
+    }
+
+    @Test
+    void doesNotCountTicketsTwiceAfterACrash() throws InterruptedException {
+        ShowKey show = addShow("Crash After Count");
+        failClearingFlags.set(true);
+
+        List<Ticket> tickets = List.of(book(show, "B1", "B2", "B3"), book(show, "B4"));
+
+        awaitTrue(() -> !failClearingFlags.get() && pendingTickets() == 0
+                && tickets.stream().allMatch(ticket -> storedTickets.containsKey(ticket.getTicketId())));
+        assertThat(storedShowtimes.get(show).getTicketsAvailable()).isEqualTo(CAPACITY - 4);
+        assertThat(storedShowtimes.get(show).getCountedTickets()).isEmpty();
+    }
+
+    private ShowKey addShow(String theatreName) {
+        ShowKey show = new ShowKey(MOVIE, theatreName);
+        Showtime showtime = new Showtime();
+        showtime.setMovieName(show.movieName());
+        showtime.setTheatreName(show.theatreName());
+        showtime.setTicketsAvailable(CAPACITY);
+        showtime.setCountedTickets(new ArrayList<>());
+        storedShowtimes.put(show, showtime);
+        return show;
+    }
+
+    private Ticket book(ShowKey show, String... seats) {
+        Ticket ticket = new Ticket("user", show.movieName(), show.theatreName(), seats.length, List.of(seats));
+        assertThat(writeBehindBookingService.book(show, ticket)).isNotNull();
+        return ticket;
+    }
+
+    private Showtime showtimeOf(Ticket ticket) {
+        return storedShowtimes.get(new ShowKey(ticket.getMovieName(), ticket.getTheatreName()));
+    }
+
+    private long pendingTickets() {
+        return storedTickets.values().stream().filter(ticket -> Boolean.TRUE.equals(ticket.getCountPending())).count();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("waited 30s for the consumer").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.moviebookingapp.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SeatCodeTest {
+
+    @Test
+    void rowsAreLetteredLikeSpreadsheetColumns() {
+        assertThat(SeatCode.row(SeatCode.encode("A1"))).isEqualTo(1);
+        assertThat(SeatCode.row(SeatCode.encode("Z1"))).isEqualTo(26);
+        assertThat(SeatCode.row(SeatCode.encode("AA1"))).isEqualTo(27);
+        assertThat(SeatCode.row(SeatCode.encode("ZZ1"))).isEqualTo(702);
+        assertThat(SeatCode.decode(SeatCode.of(27, 4))).isEqualTo("AA4");
+        assertThat(SeatCode.decode(SeatCode.of(702, 1))).isEqualTo("ZZ1");
+    }
+
+    @Test
+    void rowsPastZZAreRejected() {
+        assertThatThrownBy(() -> SeatCode.encode("AAA1")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void columnsRunFromOneTo65535() {
+        assertThat(SeatCode.column(SeatCode.encode("B65535"))).isEqualTo(65535);
+        assertThat(SeatCode.decode(SeatCode.encode("B65535"))).isEqualTo("B65535");
+
+        assertThatThrownBy(() -> SeatCode.encode("B65536")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SeatCode.encode("B0")).isInstanceOf(IllegalArgumentException.class);
+        // Six digits is too long even when the value would fit
+        assertThatThrownBy(() -> SeatCode.encode("B000001")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void labelsAreCaseFoldedAndLoseLeadingZeros() {
+        assertThat(SeatCode.encode(" a012 ")).isEqualTo(SeatCode.encode("A12"));
+        assertThat(SeatCode.decode(SeatCode.encode("a012"))).isEqualTo("A12");
+    }
+
+    @Test
+    void malformedLabelsAreRejected() {
+        for (String label : new String[] { "", "A", "12", "A1B", "A-1", "Ä1" }) {
+            assertThatThrownBy(() -> SeatCode.encode(label)).as(label).isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThatThrownBy(() -> SeatCode.encode(null)).hasMessage("Seat number is required");
+    }
+
+    @Test
+    void codesOrderByRowThenColumn() {
+        assertThat(SeatCode.encode("A64")).isLessThan(SeatCode.encode("B1"));
+        assertThat(SeatCode.encode("B2")).isLessThan(SeatCode.encode("B10"));
+    }
+
+    @Test
+    void listsRoundTripAndNullStaysNull() {
+        List<String> seats = List.of("A1", "C12", "AB7");
+
+        assertThat(SeatCode.decodeAll(SeatCode.encodeAll(seats))).isEqualTo(seats);
+        assertThat(SeatCode.encodeAll(null)).isNull();
+        assertThat(SeatCode.decodeAll(null)).isNull();
+    }
+}
\ No newline at end of file
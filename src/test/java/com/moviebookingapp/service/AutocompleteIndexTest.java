@@ -0,0 +1,108 @@
+package com.moviebookingapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import com.moviebookingapp.model.Movie;
+
+class AutocompleteIndexTest {
+
+    private final Map<ObjectId, Movie> catalog = new LinkedHashMap<>();
+
+    private Movie add(String movieName, String theatreName, int reviewCount, Double rating) {
+        Movie movie = new Movie(new ObjectId(), movieName, theatreName, reviewCount);
+        movie.setRating(rating);
+        catalog.put(movie.getMovieId(), movie);
+        return movie;
+    }
+
+    @Test
+    void suggestsNamesWithAnyWordStartingWithThePrefix() {
+        add("Dune: Part Two", "PVR", 5, 4.5);
+        add("Party Girl", "PVR", 1, 3.0);
+        add("Departed", "PVR", 9, 4.8);
+
+        AutocompleteIndex index = new AutocompleteIndex(catalog);
+
+        // "Departed" contains "par" but not at the start of a word
+        assertThat(index.suggest("par", 10)).containsExactly("Dune: Part Two", "Party Girl");
+        assertThat(index.suggest("DUNE: p", 10)).containsExactly("Dune: Part Two");
+        assertThat(index.suggest("two", 10)).containsExactly("Dune: Part Two");
+    }
+
+    @Test
+    void tiesOnReviewsGoToTheBetterRatingThenToTheName() {
+        add("Alien", "PVR", 10, 4.0);
+        add("Aliens", "PVR", 10, 4.6);
+        add("Alien: Covenant", "PVR", 3, 4.9);
+        add("Alien Resurrection", "PVR", 10, 4.0);
+        add("Alien Nation", "PVR", 0, null);
+
+        assertThat(new AutocompleteIndex(catalog).suggest("alien", 10)).containsExactly(
+                "Aliens", "Alien", "Alien Resurrection", "Alien: Covenant", "Alien Nation");
+    }
+
+    @Test
+    void keepsOnlyTheTopKPerPrefix() {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < AutocompleteIndex.TOP_K + 5; i++) {
+            add("Saw " + i, "PVR", 100 - i, 3.0);
+            if (i < AutocompleteIndex.TOP_K) {
+                expected.add("Saw " + i);
+            }
+        }
+
+        AutocompleteIndex index = new AutocompleteIndex(catalog);
+
+        assertThat(index.suggest("saw", 50)).isEqualTo(expected);
+        assertThat(index.suggest("saw", 3)).isEqualTo(expected.subList(0, 3));
+        // The least popular names are still found by a prefix narrow enough to reach them
+        assertThat(index.suggest("saw 14", 10)).containsExactly("Saw 14");
+    }
+
+    @Test
+    void suggestsEachNameOnceAcrossTheatresAndRepeatedWords() {
+        add("Tora! Tora! Tora!", "PVR", 2, 3.5);
+        add("Tora! Tora! Tora!", "INOX", 8, 4.0);
+        add("Top Gun", "PVR", 4, 4.2);
+
+        AutocompleteIndex index = new AutocompleteIndex(catalog);
+
+        // The better listing of the two theatres ranks the name
+        assertThat(index.suggest("to", 10)).containsExactly("Tora! Tora! Tora!", "Top Gun");
+        assertThat(index.suggest("tora", 10)).containsExactly("Tora! Tora! Tora!");
+    }
+
+    @Test
+    void blankOrUnknownPrefixesSuggestNothing() {
+        add("Heat", "PVR", 1, 4.0);
+        add(null, "PVR", 1, 4.0);
+
+        AutocompleteIndex index = new AutocompleteIndex(catalog);
+
+        assertThat(index.suggest(" ", 10)).isEmpty();
+        assertThat(index.suggest(null, 10)).isEmpty();
+        assertThat(index.suggest("heated", 10)).isEmpty();
+    }
+
+    @Test
+    void coversACatalogUntilANameOrItsPopularityChanges() {
+        Movie heat = add("Heat", "PVR", 1, 4.0);
+        AutocompleteIndex index = new AutocompleteIndex(catalog);
+
+        assertThat(index.covers(catalog)).isTrue();
+
+        heat.setDescription("Los Angeles, 1995");
+        assertThat(index.covers(catalog)).isTrue();
+
+        heat.setReviewCount(2);
+        assertThat(index.covers(catalog)).isFalse();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.moviebookingapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.moviebookingapp.model.Movie;
+
+class CatalogFacetsTest {
+
+    private final Map<ObjectId, Movie> catalog = new LinkedHashMap<>();
+    private CatalogFacets facets;
+
+    private void add(String movieName, String genre, String language, String certificate, String status) {
+        Movie movie = new Movie(new ObjectId(), movieName, "PVR", 0);
+        movie.setGenre(genre);
+        movie.setLanguage(language);
+        movie.setCertificate(certificate);
+        movie.setStatus(status);
+        catalog.put(movie.getMovieId(), movie);
+    }
+
+    private static BitSet ordinals(int... values) {
+        BitSet bits = new BitSet();
+        for (int value : values) {
+            bits.set(value);
+        }
+        return bits;
+    }
+
+    @BeforeEach
+    void buildCatalog() {
+        add("Inception", "Action, Sci-Fi", "English", "UA", "Now Showing");
+        add("RRR", "Action,Drama", "Telugu, Hindi", "UA", "Now Showing");
+        add("Dangal", "drama", "Hindi", "U", "Coming Soon");
+        add("Interstellar", "Sci-Fi", "English", null, " ");
+        facets = new CatalogFacets(catalog);
+    }
+
+    @Test
+    void noSelectionMatchesTheWholeCatalog() {
+        assertThat(facets.filter(Map.of())).isEqualTo(ordinals(0, 1, 2, 3));
+    }
+
+    @Test
+    void valuesOfOneFacetAreOredAndFacetsAreAnded() {
+        assertThat(facets.filter(Map.of(CatalogFacets.GENRE, List.of("Drama", "Sci-Fi"))))
+                .isEqualTo(ordinals(0, 1, 2, 3));
+        assertThat(facets.filter(Map.of(
+                CatalogFacets.GENRE, List.of("Drama", "Sci-Fi"),
+                CatalogFacets.LANGUAGE, List.of("Hindi"))))
+                .isEqualTo(ordinals(1, 2));
+    }
+
+    @Test
+    void listsAreSplitAndValuesMatchIgnoringCaseAndSpaces() {
+        assertThat(facets.filter(Map.of(CatalogFacets.LANGUAGE, List.of(" hindi ")))).isEqualTo(ordinals(1, 2));
+        assertThat(facets.filter(Map.of(CatalogFacets.GENRE, List.of("DRAMA")))).isEqualTo(ordinals(1, 2));
+    }
+
+    @Test
+    void unknownValuesMatchNothingAndUnknownFacetsAreIgnored() {
+        assertThat(facets.filter(Map.of(CatalogFacets.CERTIFICATE, List.of("A")))).isEqualTo(ordinals());
+        assertThat(facets.filter(Map.of("director", List.of("Nolan")))).isEqualTo(ordinals(0, 1, 2, 3));
+    }
+
+    @Test
+    void countsLeaveOutTheFacetsOwnSelection() {
+        Map<String, Map<String, Integer>> counts = facets.counts(Map.of(
+                CatalogFacets.GENRE, List.of("Drama"),
+                CatalogFacets.LANGUAGE, List.of("English")));
+
+        // Genre is counted against the English movies only, language against the dramas only
+        assertThat(counts.get(CatalogFacets.GENRE)).isEqualTo(Map.of("Action", 1, "Sci-Fi", 2));
+        assertThat(counts.get(CatalogFacets.LANGUAGE)).isEqualTo(Map.of("Hindi", 2, "Telugu", 1));
+    }
+
+    @Test
+    void countsAreLabelledWithTheFirstSpellingAndSkipBlankValues() {
+        Map<String, Map<String, Integer>> counts = facets.counts(Map.of());
+
+        assertThat(counts.get(CatalogFacets.GENRE)).containsEntry("Drama", 2).doesNotContainKey("drama");
+        assertThat(counts.get(CatalogFacets.CERTIFICATE)).isEqualTo(Map.of("U", 1, "UA", 2));
+        assertThat(counts.get(CatalogFacets.STATUS)).isEqualTo(Map.of("Coming Soon", 1, "Now Showing", 2));
+    }
+
+    @Test
+    void coversACatalogUntilAFacetValueChanges() {
+        assertThat(facets.covers(catalog)).isTrue();
+
+        Movie dangal = catalog.values().stream().filter(movie -> movie.getMovieName().equals("Dangal"))
+                .findFirst().orElseThrow();
+        dangal.setReviewCount(12);
+        assertThat(facets.covers(catalog)).isTrue();
+
+        dangal.setStatus("Now Showing");
+        assertThat(facets.covers(catalog)).isFalse();
+    }
+}
\ No newline at end of file
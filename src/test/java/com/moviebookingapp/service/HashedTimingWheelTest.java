@@ -0,0 +1,124 @@
+package com.moviebookingapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The wheel's own ticker is set to a tick of an hour so that it never fires
+ * during a test; the tests turn the wheel by calling tick() themselves.
+ */
+class HashedTimingWheelTest {
+
+    private static final long TICK = 60 * 60 * 1000L;
+
+    private final List<String> expired = new ArrayList<>();
+    private final HashedTimingWheel<String> wheel = new HashedTimingWheel<>("test-wheel", TICK, 4, expired::add);
+
+    @AfterEach
+    void stopWheel() {
+        wheel.stop();
+    }
+
+    private void advance(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            wheel.tick();
+        }
+    }
+
+    @Test
+    void expiresOnTheTickTheDelayEndsOn() {
+        wheel.schedule("hold", 3 * TICK);
+
+        advance(2);
+        assertThat(expired).isEmpty();
+        advance(1);
+        assertThat(expired).containsExactly("hold");
+        advance(8);
+        assertThat(expired).containsExactly("hold");
+    }
+
+    @Test
+    void delaysLongerThanTheWheelWaitForTheirRound() {
+        // Ten ticks on a wheel of four passes the item's bucket twice before it is due
+        wheel.schedule("long", 10 * TICK);
+        wheel.schedule("short", 2 * TICK);
+
+        advance(2);
+        assertThat(expired).containsExactly("short");
+        advance(4);
+        assertThat(expired).containsExactly("short");
+        advance(3);
+        assertThat(expired).containsExactly("short");
+        advance(1);
+        assertThat(expired).containsExactly("short", "long");
+    }
+
+    @Test
+    void delaysOfExactlyOneRoundDoNotWaitAnother() {
+        wheel.schedule("round", 4 * TICK);
+
+        advance(3);
+        assertThat(expired).isEmpty();
+        advance(1);
+        assertThat(expired).containsExactly("round");
+    }
+
+    @Test
+    void delaysAreRoundedUpToAtLeastOneTick() {
+        wheel.schedule("zero", 0);
+        wheel.schedule("partial", TICK + 1);
+
+        advance(1);
+        assertThat(expired).containsExactly("zero");
+        advance(1);
+        assertThat(expired).containsExactly("zero", "partial");
+    }
+
+    @Test
+    void delaysCountFromTheTickTheItemWasScheduledOn() {
+        advance(3);
+        wheel.schedule("late", 2 * TICK);
+
+        advance(1);
+        assertThat(expired).isEmpty();
+        advance(1);
+        assertThat(expired).containsExactly("late");
+    }
+
+    @Test
+    void cancelledItemsNeverExpire() {
+        HashedTimingWheel.Timeout<String> timeout = wheel.schedule("released", 2 * TICK);
+        wheel.schedule("kept", 2 * TICK);
+
+        wheel.cancel(timeout);
+        advance(8);
+
+        assertThat(expired).containsExactly("kept");
+    }
+
+    @Test
+    void aFailingCallbackDoesNotStopTheOthers() {
+        List<String> seen = new ArrayList<>();
+        HashedTimingWheel<String> failing = new HashedTimingWheel<>("failing-wheel", TICK, 4, item -> {
+            seen.add(item);
+            if (item.equals("bad")) {
+                throw new IllegalStateException("expiry failed");
+            }
+        });
+        try {
+            failing.schedule("bad", TICK);
+            failing.schedule("good", TICK);
+
+            failing.tick();
+
+            assertThat(seen).containsExactlyInAnyOrder("bad", "good");
+        } finally {
+            failing.stop();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.moviebookingapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import com.moviebookingapp.model.Movie;
+
+class MovieCursorTest {
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Movie movie(Double rating, LocalDate releaseDate) {
+        Movie movie = new Movie(new ObjectId(), "Oppenheimer", "PVR", 0);
+        movie.setRating(rating);
+        movie.setReleaseDate(releaseDate);
+        return movie;
+    }
+
+    @Test
+    void roundTripsEverySortOrder() {
+        Movie movie = movie(4.5, LocalDate.of(2023, 7, 21));
+
+        for (MovieSort sort : MovieSort.values()) {
+            for (boolean descending : new boolean[] { true, false }) {
+                MovieCursor cursor = MovieCursor.after(sort, descending, movie);
+
+                assertThat(MovieCursor.decode(cursor.encode())).as("%s %s", sort, descending).isEqualTo(cursor);
+            }
+        }
+        assertThat(MovieCursor.after(MovieSort.RATING, true, movie).lastValue()).isEqualTo(4.5);
+        assertThat(MovieCursor.after(MovieSort.MOVIE_ID, true, movie).lastValue()).isNull();
+    }
+
+    @Test
+    void aMovieWithoutTheSortValueResumesFromANullValue() {
+        MovieCursor cursor = MovieCursor.after(MovieSort.RELEASE_DATE, true, movie(null, null));
+
+        MovieCursor decoded = MovieCursor.decode(cursor.encode());
+
+        assertThat(decoded.lastValue()).isNull();
+        assertThat(decoded.lastId()).isEqualTo(cursor.lastId());
+    }
+
+    @Test
+    void tokensAreSafeInAQueryString() {
+        String encoded = MovieCursor.after(MovieSort.RATING, false, movie(3.25, null)).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void malformedTokensDecodeToNull() {
+        String id = new ObjectId().toHexString();
+
+        assertThat(MovieCursor.decode(null)).isNull();
+        assertThat(MovieCursor.decode("")).isNull();
+        assertThat(MovieCursor.decode("not base64!")).isNull();
+        assertThat(MovieCursor.decode(token("RATING|true|" + id))).isNull();
+        assertThat(MovieCursor.decode(token("TITLE|true|" + id + "|Heat"))).isNull();
+        assertThat(MovieCursor.decode(token("RATING|true|not-an-id|4.5"))).isNull();
+        assertThat(MovieCursor.decode(token("RATING|true|" + id + "|high"))).isNull();
+        assertThat(MovieCursor.decode(token("RELEASE_DATE|true|" + id + "|21/07/2023"))).isNull();
+    }
+}
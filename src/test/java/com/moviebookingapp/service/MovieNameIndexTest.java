@@ -0,0 +1,113 @@
+package com.moviebookingapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import com.moviebookingapp.model.Movie;
+
+class MovieNameIndexTest {
+
+    private final Map<ObjectId, Movie> catalog = new LinkedHashMap<>();
+
+    private ObjectId add(String movieName) {
+        Movie movie = new Movie(new ObjectId(), movieName, "PVR", 0);
+        catalog.put(movie.getMovieId(), movie);
+        return movie.getMovieId();
+    }
+
+    @Test
+    void prefixMatchesComeBeforeSubstringMatches() {
+        ObjectId batmanBegins = add("Batman Begins");
+        ObjectId lego = add("The Lego Batman Movie");
+        ObjectId batman = add("Batman");
+        add("Inception");
+
+        List<ObjectId> results = new MovieNameIndex(catalog).search("batman");
+
+        // Each group keeps catalog order
+        assertThat(results).containsExactly(batmanBegins, batman, lego);
+    }
+
+    @Test
+    void ignoresCaseAccentsAndRepeatedSpaces() {
+        ObjectId amelie = add("Amélie");
+        ObjectId crouching = add("Crouching  Tiger,   Hidden Dragon");
+
+        MovieNameIndex index = new MovieNameIndex(catalog);
+
+        assertThat(index.search("AMELIE")).containsExactly(amelie);
+        assertThat(index.search("tiger, hidden")).containsExactly(crouching);
+        assertThat(index.search("  Tiger   Hidden ")).isEmpty();
+    }
+
+    @Test
+    void findsSubstringsThroughTheirTrigrams() {
+        ObjectId interstellar = add("Interstellar");
+        add("Inter Milan: The Story");
+
+        MovieNameIndex index = new MovieNameIndex(catalog);
+
+        assertThat(index.search("stella")).containsExactly(interstellar);
+        assertThat(index.search("stellax")).isEmpty();
+    }
+
+    @Test
+    void sharingEveryTrigramIsNotEnoughToMatch() {
+        add("Banana Man");
+
+        // "ana" and "nan" both occur in the name, but "ananan" does not
+        assertThat(new MovieNameIndex(catalog).search("ananan")).isEmpty();
+    }
+
+    @Test
+    void queriesShorterThanATrigramScanEveryName() {
+        ObjectId up = add("Up");
+        ObjectId soup = add("Soup");
+        add("Jaws");
+
+        MovieNameIndex index = new MovieNameIndex(catalog);
+
+        assertThat(index.search("up")).containsExactly(up, soup);
+        assertThat(index.search("w")).hasSize(1);
+    }
+
+    @Test
+    void blankQueriesAndNamesMatchNothing() {
+        add(null);
+        add("Heat");
+
+        MovieNameIndex index = new MovieNameIndex(catalog);
+
+        assertThat(index.search("")).isEmpty();
+        assertThat(index.search("   ")).isEmpty();
+        assertThat(index.search(null)).isEmpty();
+    }
+
+    @Test
+    void coversOnlyACatalogWithTheSameIdsAndNames() {
+        add("Heat");
+        ObjectId alien = add("Alien");
+        MovieNameIndex index = new MovieNameIndex(catalog);
+
+        assertThat(index.covers(catalog)).isTrue();
+
+        // A rating change does not touch the names
+        catalog.get(alien).setRating(4.5);
+        assertThat(index.covers(catalog)).isTrue();
+
+        catalog.get(alien).setMovieName("Aliens");
+        assertThat(index.covers(catalog)).isFalse();
+
+        catalog.get(alien).setMovieName("ALIEN");
+        assertThat(index.covers(catalog)).isTrue();
+
+        add("Ronin");
+        assertThat(index.covers(catalog)).isFalse();
+    }
+}
\ No newline at end of file
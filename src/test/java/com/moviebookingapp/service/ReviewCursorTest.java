@@ -0,0 +1,48 @@
+package com.moviebookingapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import com.moviebookingapp.model.Movie;
+
+class ReviewCursorTest {
+
+    @Test
+    void roundTripsDownToTheNanosecond() {
+        ReviewCursor cursor = new ReviewCursor(LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_789),
+                new ObjectId());
+
+        assertThat(ReviewCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripsATimeOnTheMinute() {
+        // LocalDateTime prints no seconds for such a time, and must parse it back the same
+        ReviewCursor cursor = new ReviewCursor(LocalDateTime.of(2024, 1, 1, 9, 30), new ObjectId());
+
+        assertThat(ReviewCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void malformedTokensDecodeToNull() {
+        String id = new ObjectId().toHexString();
+        Base64.Encoder base64 = Base64.getUrlEncoder().withoutPadding();
+
+        assertThat(ReviewCursor.decode(null)).isNull();
+        assertThat(ReviewCursor.decode("***")).isNull();
+        assertThat(ReviewCursor.decode(base64.encodeToString(id.getBytes(StandardCharsets.UTF_8)))).isNull();
+        assertThat(ReviewCursor.decode(base64.encodeToString(
+                (id + "|yesterday").getBytes(StandardCharsets.UTF_8)))).isNull();
+        assertThat(ReviewCursor.decode(base64.encodeToString(
+                ("12345|2024-01-01T09:30").getBytes(StandardCharsets.UTF_8)))).isNull();
+        // A movie cursor is not a review cursor
+        assertThat(ReviewCursor.decode(MovieCursor.after(MovieSort.MOVIE_ID, false,
+                new Movie(new ObjectId(), "Heat", "PVR", 0)).encode())).isNull();
+    }
+}
\ No newline at end of file
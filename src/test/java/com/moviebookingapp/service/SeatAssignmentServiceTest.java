@@ -0,0 +1,157 @@
+package com.moviebookingapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.moviebookingapp.exception.InvalidLayoutException;
+import com.moviebookingapp.model.AuditoriumLayout;
+import com.moviebookingapp.model.SeatCode;
+import com.moviebookingapp.repository.AuditoriumLayoutRepository;
+
+@ExtendWith(MockitoExtension.class)
+class SeatAssignmentServiceTest {
+
+    private static final String MOVIE = "Inception";
+    private static final String THEATRE = "PVR";
+
+    @Mock
+    private AuditoriumLayoutRepository auditoriumLayoutRepository;
+
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    @InjectMocks
+    private SeatAssignmentService seatAssignmentService;
+
+    private final SeatInventory inventory = new SeatInventory();
+
+    private static AuditoriumLayout layout(int rows, int seatsPerRow) {
+        AuditoriumLayout layout = new AuditoriumLayout();
+        layout.setTheatreName(THEATRE);
+        layout.setRows(rows);
+        layout.setSeatsPerRow(seatsPerRow);
+        return layout;
+    }
+
+    private List<String> bestSeats(AuditoriumLayout layout, int noOfSeats) {
+        when(auditoriumLayoutRepository.findByTheatreName(THEATRE)).thenReturn(Optional.of(layout));
+        when(seatInventoryService.getInventory(MOVIE, THEATRE)).thenReturn(inventory);
+        return seatAssignmentService.findBestSeats(MOVIE, THEATRE, noOfSeats);
+    }
+
+    @Test
+    void acceptsALayoutAtTheLimitsOfTheGrid() {
+        AuditoriumLayout layout = layout(702, 64);
+        layout.setAisles(List.of(1, 63));
+        layout.setBlockedSeats(List.of("A1", "zz64"));
+
+        assertThatCode(() -> SeatAssignmentService.validateLayout(layout)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectsRowAndSeatCountsOutsideTheGrid() {
+        for (int[] size : new int[][] { { 0, 10 }, { 703, 10 }, { 10, 0 }, { 10, 65 } }) {
+            assertThatThrownBy(() -> SeatAssignmentService.validateLayout(layout(size[0], size[1])))
+                    .as("%d x %d", size[0], size[1])
+                    .isInstanceOf(InvalidLayoutException.class);
+        }
+    }
+
+    @Test
+    void rejectsMissingLists() {
+        AuditoriumLayout noBlocked = layout(5, 10);
+        noBlocked.setBlockedSeats(null);
+        AuditoriumLayout noAisles = layout(5, 10);
+        noAisles.setAisles(null);
+
+        assertThatThrownBy(() -> SeatAssignmentService.validateLayout(noBlocked))
+                .isInstanceOf(InvalidLayoutException.class);
+        assertThatThrownBy(() -> SeatAssignmentService.validateLayout(noAisles))
+                .isInstanceOf(InvalidLayoutException.class);
+    }
+
+    @Test
+    void rejectsAislesThatDoNotSitBetweenTwoSeats() {
+        for (Integer aisle : new Integer[] { 0, 10, null }) {
+            AuditoriumLayout layout = layout(5, 10);
+            layout.getAisles().add(aisle);
+
+            assertThatThrownBy(() -> SeatAssignmentService.validateLayout(layout)).as("aisle %s", aisle)
+                    .isInstanceOf(InvalidLayoutException.class);
+        }
+    }
+
+    @Test
+    void rejectsBlockedSeatsThatDoNotParseOrLieOutsideTheGrid() {
+        for (String blocked : new String[] { "4C", "", "F1", "A11" }) {
+            AuditoriumLayout layout = layout(5, 10);
+            layout.setBlockedSeats(new ArrayList<>(List.of("A1", blocked)));
+
+            assertThatThrownBy(() -> SeatAssignmentService.validateLayout(layout)).as(blocked)
+                    .isInstanceOf(InvalidLayoutException.class)
+                    .hasMessageContaining(blocked);
+        }
+    }
+
+    @Test
+    void anInvalidLayoutIsNotSaved() {
+        AuditoriumLayout layout = layout(5, 10);
+        layout.setBlockedSeats(List.of("not a seat"));
+
+        assertThatThrownBy(() -> seatAssignmentService.saveLayout(layout)).isInstanceOf(InvalidLayoutException.class);
+        verifyNoInteractions(auditoriumLayoutRepository);
+    }
+
+    @Test
+    void picksTheMiddleOfThePreferredRow() {
+        // Three rows put the preferred row at B
+        assertThat(bestSeats(layout(3, 8), 2)).containsExactly("B4", "B5");
+    }
+
+    @Test
+    void keepsABlockOnOneSideOfAnAisle() {
+        AuditoriumLayout layout = layout(3, 8);
+        layout.setAisles(List.of(4));
+
+        // B3-B4 and B5-B6 are equally central; the lower seat numbers win the tie
+        assertThat(bestSeats(layout, 2)).containsExactly("B3", "B4");
+    }
+
+    @Test
+    void movesToAnotherRowWhenTheCentreIsTaken() {
+        AuditoriumLayout layout = layout(3, 8);
+        layout.setBlockedSeats(List.of("B4"));
+        inventory.markBooked(new int[] { SeatCode.encode("B5") });
+
+        assertThat(bestSeats(layout, 2)).containsExactly("C4", "C5");
+    }
+
+    @Test
+    void findsNothingWhenNoRowHasRoom() {
+        inventory.markBooked(SeatCode.encodeAll(List.of("A2", "B2")));
+
+        assertThat(bestSeats(layout(2, 3), 2)).isNull();
+        assertThat(seatAssignmentService.findBestSeats(MOVIE, THEATRE, 4)).isNull();
+    }
+
+    @Test
+    void aStoredLayoutWithABadLabelStillAssignsSeats() {
+        AuditoriumLayout layout = layout(1, 4);
+        layout.setBlockedSeats(List.of("??", "A1"));
+
+        assertThat(bestSeats(layout, 2)).containsExactly("A2", "A3");
+    }
+}
\ No newline at end of file